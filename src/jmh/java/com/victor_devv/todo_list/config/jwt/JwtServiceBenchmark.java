@@ -0,0 +1,79 @@
+package com.victor_devv.todo_list.config.jwt;
+
+import com.victor_devv.todo_list.domain.entity.Role;
+import com.victor_devv.todo_list.domain.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. With {@code claimsCacheSize=0} every call parses and
+ * HMAC-checks the token; with a cache only the first call per token does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"0", "10000"})
+    public long claimsCacheSize;
+
+    private JwtService jwtService;
+    private User user;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new JwtClaimsCache(claimsCacheSize, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        jwtService.init();
+
+        user = User.builder()
+                .id(1L)
+                .username("johndoe")
+                .email("john@victordevv.com")
+                .role(Role.USER)
+                .build();
+        claims = new HashMap<>();
+        claims.put(JwtPrincipal.USER_ID_CLAIM, user.getId());
+        claims.put(JwtPrincipal.AUTHORITIES_CLAIM, user.getAuthorities());
+        token = jwtService.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtService.extractUserId(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
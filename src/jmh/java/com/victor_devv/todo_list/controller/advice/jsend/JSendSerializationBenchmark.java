@@ -0,0 +1,72 @@
+package com.victor_devv.todo_list.controller.advice.jsend;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the body {@code GET /api/v1/todos} returns: a page of todos wrapped in
+ * {@link JSendSuccess}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSendSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private JSendSuccess response;
+
+    @Setup
+    public void setUp() {
+        writer = new ObjectMapper().registerModule(new JavaTimeModule()).writer();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<TodoDto> todos = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            todos.add(TodoDto.builder()
+                    .id(id)
+                    .version(0)
+                    .title("Buy groceries " + id)
+                    .description("milk, eggs and bread")
+                    .priority("MEDIUM")
+                    .status("PENDING")
+                    .dueDate(now.plusDays(id))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .userId(1L)
+                    .username("johndoe")
+                    .build());
+        }
+        response = new JSendSuccess(new PageImpl<>(todos, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,95 @@
+package com.victor_devv.todo_list.domain.mapper;
+
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoRequest;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.User;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoMapperBenchmark {
+
+    @Param({"20", "100"})
+    public int listSize;
+
+    private TodoMapper todoMapper;
+    private Todo todo;
+    private List<Todo> todos;
+    private TodoRequest request;
+
+    @Setup
+    public void setUp() {
+        todoMapper = Mappers.getMapper(TodoMapper.class);
+        User user = User.builder()
+                .id(1L)
+                .username("johndoe")
+                .email("john@victordevv.com")
+                .build();
+
+        todos = new ArrayList<>(listSize);
+        for (long id = 1; id <= listSize; id++) {
+            todos.add(todo(id, user));
+        }
+        todo = todos.get(0);
+        request = TodoRequest.builder()
+                .title("Call the plumber")
+                .description("kitchen sink is leaking")
+                .priority("HIGH")
+                .status("IN_PROGRESS")
+                .dueDate(LocalDateTime.of(2025, 2, 1, 9, 0))
+                .build();
+    }
+
+    @Benchmark
+    public TodoDto toDto() {
+        return todoMapper.toDto(todo);
+    }
+
+    @Benchmark
+    public List<TodoDto> toDtoList() {
+        return todoMapper.toDtoList(todos);
+    }
+
+    @Benchmark
+    public Todo updateEntityFromRequest() {
+        todoMapper.updateEntityFromRequest(request, todo);
+        return todo;
+    }
+
+    private static Todo todo(long id, User user) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 0);
+        return Todo.builder()
+                .id(id)
+                .version(0)
+                .title("Buy groceries " + id)
+                .description("milk, eggs and bread")
+                .priority(Todo.Priority.MEDIUM)
+                .status(Todo.Status.PENDING)
+                .dueDate(now.plusDays(id))
+                .createdAt(now)
+                .updatedAt(now)
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.victor_devv.todo_list.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * TodoController operations the load test can drive, named as they appear in the mix.
+ */
+enum LoadTestOperation {
+    LIST("list", "GET /todos"),
+    GET("get", "GET /todos/{id}"),
+    SCROLL("scroll", "GET /todos/scroll"),
+    SEARCH("search", "GET /todos/search"),
+    CREATE("create", "POST /todos"),
+    UPDATE("update", "PUT /todos/{id}"),
+    COMPLETE("complete", "PATCH /todos/{id}/complete");
+
+    private final String parameter;
+    private final String endpoint;
+
+    LoadTestOperation(String parameter, String endpoint) {
+        this.parameter = parameter;
+        this.endpoint = endpoint;
+    }
+
+    String getParameter() {
+        return parameter;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Parses a mix such as {@code list=40,get=30,create=30} into relative weights.
+     */
+    static Map<LoadTestOperation, Integer> parseMix(String mix) {
+        Map<LoadTestOperation, Integer> weights = new EnumMap<>(LoadTestOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("mix entries must look like list=40: " + entry);
+            }
+            LoadTestOperation operation = Arrays.stream(values())
+                    .filter(value -> value.parameter.equalsIgnoreCase(parts[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("unknown operation in mix: " + parts[0]));
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+}
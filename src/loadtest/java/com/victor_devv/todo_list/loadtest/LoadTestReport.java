@@ -0,0 +1,127 @@
+package com.victor_devv.todo_list.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies, error counts and queries per request for each operation, and the
+ * comparison against a recorded baseline.
+ * <p>
+ * The baseline is a properties file with {@code <operation>.p99.ms} and
+ * {@code <operation>.queries} entries, either of which may be missing. Latency may
+ * exceed it by the tolerance; the query count may not grow at all. Numbers are written
+ * with {@link Locale#ROOT} so they read back with {@link Double#parseDouble}.
+ */
+class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<LoadTestOperation, Histogram> latencies = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, LongAdder> errors = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, Double> queries = new EnumMap<>(LoadTestOperation.class);
+
+    LoadTestReport(Iterable<LoadTestOperation> operations) {
+        for (LoadTestOperation operation : operations) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void recordLatency(LoadTestOperation operation, long micros) {
+        latencies.get(operation).recordValue(micros);
+    }
+
+    void recordError(LoadTestOperation operation) {
+        errors.get(operation).increment();
+    }
+
+    void recordQueries(LoadTestOperation operation, double perRequest) {
+        queries.put(operation, perRequest);
+    }
+
+    double errorRate() {
+        long total = latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        long failed = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        return total == 0 ? 0 : (double) failed / total;
+    }
+
+    String format() {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-28s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "p50 ms", "p99 ms", "p99.9 ms", "queries"));
+        latencies.forEach((operation, histogram) -> report.append(String.format(Locale.ROOT, "%-28s %9d %7d %9.2f %9.2f %9.2f %9.1f%n",
+                operation.getEndpoint(),
+                histogram.getTotalCount(),
+                errors.get(operation).sum(),
+                millis(histogram, 50),
+                millis(histogram, 99),
+                millis(histogram, 99.9),
+                queries.getOrDefault(operation, Double.NaN))));
+        return report.toString();
+    }
+
+    /**
+     * Writes the report and the current numbers in baseline form, ready to be copied
+     * over the baseline once a change in performance is intended.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("report.txt"), format(), StandardCharsets.UTF_8);
+        Properties current = new Properties();
+        latencies.forEach((operation, histogram) -> {
+            current.setProperty(operation.getParameter() + ".p99.ms", String.format(Locale.ROOT, "%.2f", millis(histogram, 99)));
+            if (queries.containsKey(operation)) {
+                current.setProperty(operation.getParameter() + ".queries", String.format(Locale.ROOT, "%.1f", queries.get(operation)));
+            }
+        });
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("baseline.properties"), StandardCharsets.UTF_8)) {
+            current.store(writer, "Load test baseline");
+        }
+    }
+
+    /**
+     * Returns one message per operation that regressed against {@code baselineFile},
+     * or nothing when the file does not exist yet.
+     */
+    List<String> regressionsAgainst(Path baselineFile, double tolerance) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        if (!Files.exists(baselineFile)) {
+            return regressions;
+        }
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(baselineFile, StandardCharsets.UTF_8)) {
+            baseline.load(reader);
+        }
+        latencies.forEach((operation, histogram) -> {
+            String p99 = baseline.getProperty(operation.getParameter() + ".p99.ms");
+            if (p99 != null && millis(histogram, 99) > Double.parseDouble(p99) * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.2f ms exceeds baseline %s ms by more than %.0f%%",
+                        operation.getEndpoint(), millis(histogram, 99), p99, tolerance * 100));
+            }
+            String baselineQueries = baseline.getProperty(operation.getParameter() + ".queries");
+            if (baselineQueries != null && queries.containsKey(operation)
+                    && queries.get(operation) > Double.parseDouble(baselineQueries)) {
+                regressions.add(String.format(Locale.ROOT, "%s runs %.1f queries per request, baseline is %s",
+                        operation.getEndpoint(), queries.get(operation), baselineQueries));
+            }
+        });
+        return regressions;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
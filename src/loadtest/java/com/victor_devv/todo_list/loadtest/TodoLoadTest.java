@@ -0,0 +1,237 @@
+package com.victor_devv.todo_list.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application on H2 in PostgreSQL mode, signs up synthetic users through the
+ * auth endpoints and drives a weighted mix of todo operations at a fixed rate.
+ * <p>
+ * Requests are issued open-loop: latency is measured from when a request was due, not
+ * when it was sent, so a stalled server shows up in the percentiles instead of slowing
+ * the load down. Queries per request are measured separately, one request at a time.
+ * Run with {@code mvn -Ploadtest test}; the knobs are the {@code loadtest.*} system properties.
+ */
+@Slf4j
+@Tag("loadtest")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                // every virtual user signs up and logs in from 127.0.0.1, well past the auth limit
+                "application.rate-limit.enabled=false"})
+class TodoLoadTest {
+
+    private static final String PASSWORD = "LoadTest123!";
+    private static final int QUERY_SAMPLES = 20;
+
+    private final int userCount = Integer.getInteger("loadtest.users", 20);
+    private final int todosPerUser = Integer.getInteger("loadtest.todos-per-user", 20);
+    private final int rate = Integer.getInteger("loadtest.rate", 200);
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30));
+    private final Map<LoadTestOperation, Integer> mix = LoadTestOperation.parseMix(System.getProperty("loadtest.mix",
+            "list=30,get=25,scroll=10,search=5,create=15,update=10,complete=5"));
+    private final double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.25"));
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private final Path baseline = Path.of(System.getProperty("loadtest.baseline", "src/loadtest/baseline.properties"));
+    private final Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void todoTrafficStaysWithinBaseline() throws Exception {
+        List<VirtualUser> users = signUp();
+        LoadTestReport report = new LoadTestReport(mix.keySet());
+
+        countQueries(users.get(0), report);
+        drive(users, report);
+
+        report.write(output);
+        log.info("Load test results, also written to {}:\n{}", output.toAbsolutePath(), report.format());
+        assertThat(report.errorRate()).isLessThanOrEqualTo(maxErrorRate);
+        assertThat(report.regressionsAgainst(baseline, tolerance)).isEmpty();
+    }
+
+    private List<VirtualUser> signUp() throws IOException, InterruptedException {
+        List<VirtualUser> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            String email = "load-" + i + "@victordevv.com";
+            send(post("/api/v1/auth/register", null, Map.of(
+                    "username", "load-" + i,
+                    "firstName", "Load",
+                    "lastName", "User " + i,
+                    "email", email,
+                    "password", PASSWORD)));
+            String token = send(post("/api/v1/auth/login", null, Map.of("email", email, "password", PASSWORD)))
+                    .path("data").path("token").asText();
+
+            List<Map<String, Object>> operations = new ArrayList<>(todosPerUser);
+            for (int t = 0; t < todosPerUser; t++) {
+                operations.add(Map.of("op", "CREATE", "todo", todoBody("Buy groceries " + t)));
+            }
+            VirtualUser user = new VirtualUser(token, new CopyOnWriteArrayList<>());
+            send(post("/api/v1/todos/batch", token, Map.of("operations", operations)))
+                    .path("data")
+                    .forEach(result -> user.todoIds().add(result.path("id").asLong()));
+            users.add(user);
+        }
+        return users;
+    }
+
+    private void countQueries(VirtualUser user, LoadTestReport report) throws IOException, InterruptedException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (LoadTestOperation operation : mix.keySet()) {
+            statistics.clear();
+            for (int i = 0; i < QUERY_SAMPLES; i++) {
+                HttpResponse<String> response = client.send(request(operation, user), HttpResponse.BodyHandlers.ofString());
+                track(operation, user, response);
+            }
+            report.recordQueries(operation, (double) statistics.getPrepareStatementCount() / QUERY_SAMPLES);
+        }
+    }
+
+    private void drive(List<VirtualUser> users, LoadTestReport report) throws InterruptedException {
+        List<LoadTestOperation> weighted = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long total = duration.toSeconds() * rate;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long due = start + i * interval;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                LoadTestOperation operation = weighted.get(random.nextInt(weighted.size()));
+                VirtualUser user = users.get(random.nextInt(users.size()));
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<String> response = client.send(request(operation, user), HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() >= 400) {
+                            report.recordError(operation);
+                        }
+                        track(operation, user, response);
+                    } catch (IOException e) {
+                        report.recordError(operation);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        report.recordLatency(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due));
+                    }
+                });
+            }
+        }
+    }
+
+    private HttpRequest request(LoadTestOperation operation, VirtualUser user) throws IOException {
+        String token = user.token();
+        return switch (operation) {
+            case LIST -> get("/api/v1/todos?size=20", token);
+            case GET -> get("/api/v1/todos/" + user.anyTodoId(), token);
+            case SCROLL -> get("/api/v1/todos/scroll?size=20", token);
+            case SEARCH -> get("/api/v1/todos/search?q=groceries", token);
+            case CREATE -> post("/api/v1/todos", token, todoBody("Call the plumber"));
+            case UPDATE -> authorized("/api/v1/todos/" + user.anyTodoId(), token)
+                    .PUT(json(todoBody("Updated todo")))
+                    .build();
+            case COMPLETE -> authorized("/api/v1/todos/" + user.anyTodoId() + "/complete", token)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+    }
+
+    /**
+     * Keeps created todos in the user's pool so later updates can pick them.
+     */
+    private void track(LoadTestOperation operation, VirtualUser user, HttpResponse<String> response) throws IOException {
+        if (operation == LoadTestOperation.CREATE && response.statusCode() == 201) {
+            user.todoIds().add(objectMapper.readTree(response.body()).path("data").path("id").asLong());
+        }
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("%s %s: %s", request.method(), request.uri(), response.body())
+                .isLessThan(400);
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path, String token) {
+        return authorized(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        return authorized(path, token).POST(json(body)).build();
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json");
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private static Map<String, Object> todoBody(String title) {
+        return Map.of(
+                "title", title,
+                "description", "synthetic load test todo",
+                "priority", "MEDIUM",
+                "status", "PENDING");
+    }
+
+    private record VirtualUser(String token, List<Long> todoIds) {
+
+        Long anyTodoId() {
+            return todoIds.get(ThreadLocalRandom.current().nextInt(todoIds.size()));
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package com.victor_devv.todo_list;
 
+import com.victor_devv.todo_list.config.PasswordHashingProperties;
+import com.victor_devv.todo_list.config.RateLimitProperties;
+import com.victor_devv.todo_list.config.ReminderProperties;
+import com.victor_devv.todo_list.config.TodoEventProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.victor_devv.todo_list")
+@EnableAsync
+@EnableScheduling
+@EnableConfigurationProperties({ReminderProperties.class, TodoEventProperties.class, PasswordHashingProperties.class,
+		RateLimitProperties.class})
 public class TodoListApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,119 @@
+package com.victor_devv.todo_list.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a {@link PasswordEncoder} on a fixed pool of dedicated threads, so a burst of
+ * logins or registrations can only ever take that many cores away from other requests.
+ * At most {@code maxQueued} calls may wait for a thread; beyond that the call fails
+ * straight away with a {@link PasswordHashingRejectedException} instead of queueing.
+ * <p>
+ * Hash upgrades are opportunistic: {@link #upgradeEncoding(String)} says no while
+ * the queue is more than half full, and the hash is upgraded on a later login instead.
+ * The queue can still fill up before the upgrade is hashed, so that {@link #encode}
+ * may be rejected too; {@link OpportunisticUpgradeAuthenticationProvider} lets the
+ * login through when it is.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    static final String HASH_METRIC = "security.password.hash";
+    static final String QUEUED_METRIC = "security.password.hash.queued";
+    static final String REJECTED_METRIC = "security.password.hash.rejected";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int maxQueued;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(properties.getBcryptStrength()),
+                properties.getThreads(), properties.getMaxQueued(), meterRegistry);
+    }
+
+    BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int maxQueued, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxQueued = maxQueued;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                maxQueued > 0 ? new ArrayBlockingQueue<>(maxQueued) : new SynchronousQueue<>(),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder(HASH_METRIC)
+                .description("Time taken to hash or verify a password, excluding time queued")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder(HASH_METRIC)
+                .description("Time taken to hash or verify a password, excluding time queued")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .description("Password hashing requests turned away because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder(QUEUED_METRIC, executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword)
+                && executor.getQueue().size() * 2 <= maxQueued;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    int queued() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Too many password hashing requests waiting");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
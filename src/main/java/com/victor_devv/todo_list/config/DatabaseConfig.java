@@ -1,25 +1,44 @@
 package com.victor_devv.todo_list.config;
 
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Database configuration for the application.
  * Configures the data source, transaction management, and JPA repositories.
+ * Ids are drawn from pooled sequences so Hibernate can batch inserts, and
+ * inserts/updates are ordered so statements for the same table share a batch.
+ * When read replicas are configured, read-only transactions are routed to them.
+ * Users, todos and the todo listing queries are kept in a JCache-backed second-level
+ * cache whose regions are bounded in {@code application.conf}.
  */
 @Configuration
 @EnableTransactionManagement
 @EnableJpaRepositories(basePackages = "com.victor_devv.todo_list.repository")
 @EntityScan(basePackages = "com.victor_devv.todo_list.domain.entity")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
 public class DatabaseConfig {
 
     @Bean
@@ -30,9 +49,102 @@ public class DatabaseConfig {
     }
 
     @Bean
-    @Primary
     @ConfigurationProperties("spring.datasource.hikari")
-    public DataSource dataSource(@Qualifier("dataSourceProperties") DataSourceProperties properties) {
-        return properties.initializeDataSourceBuilder().build();
+    public DataSource primaryDataSource(@Qualifier("dataSourceProperties") DataSourceProperties properties) {
+        DataSource dataSource = properties.initializeDataSourceBuilder().build();
+        if (dataSource instanceof HikariDataSource hikari
+                && properties.determineUrl() != null
+                && properties.determineUrl().startsWith("jdbc:postgresql:")) {
+            hikari.addDataSourceProperty("reWriteBatchedInserts", "true");
+        }
+        return dataSource;
+    }
+
+    /**
+     * The primary pool itself, or, with replicas configured, a router over the primary and
+     * replica pools. The router sits behind a lazy proxy so the real connection is only taken
+     * once the transaction's read-only flag is set. The replica pools are not beans, so they
+     * are passed through the bean post-processors here, to be wrapped like the primary pool.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            ReadReplicaProperties replicas,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            AutowireCapableBeanFactory beanFactory) {
+        if (replicas.getTargets().isEmpty()) {
+            return primary;
+        }
+        MeterRegistry registry = meterRegistry.getObject();
+        List<DataSource> pools = new ArrayList<>();
+        for (int i = 0; i < replicas.getTargets().size(); i++) {
+            ReadReplicaProperties.Target target = replicas.getTargets().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(target.getUrl());
+            pool.setUsername(target.getUsername());
+            pool.setPassword(target.getPassword());
+            pool.setMaximumPoolSize(target.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(registry);
+            pools.add((DataSource) beanFactory.initializeBean(pool, pool.getPoolName()));
+        }
+        return new RoutingDataSourceProxy(new ReadReplicaRoutingDataSource(
+                primary,
+                pools,
+                replicas.getStrategy(),
+                replicas.getStickiness(),
+                replicas.getHealthCheckInterval(),
+                registry));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer(
+            @Value("${application.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.put(AvailableSettings.ID_DB_STRUCTURE_NAMING_STRATEGY, TableSequenceNamingStrategy.class.getName());
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            properties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+
+    /**
+     * Backs the second-level and query caches with Caffeine through JCache. Statistics are
+     * collected so cache hits and misses per region show up under {@code hibernate.*} in
+     * the Actuator metrics.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cachingHibernatePropertiesCustomizer(
+            @Value("${application.jpa.second-level-cache.enabled:true}") boolean enabled) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    /**
+     * Closes the router, and with it the replica pools, when the context shuts down.
+     */
+    private static final class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReadReplicaRoutingDataSource router;
+
+        RoutingDataSourceProxy(ReadReplicaRoutingDataSource router) {
+            super(router);
+            this.router = router;
+        }
+
+        @Override
+        public void close() {
+            router.close();
+        }
     }
 }
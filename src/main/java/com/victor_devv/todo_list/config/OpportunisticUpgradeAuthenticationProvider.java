@@ -0,0 +1,36 @@
+package com.victor_devv.todo_list.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * A {@link DaoAuthenticationProvider} that never fails a login over a hash upgrade.
+ * <p>
+ * The upgrade hashes the password again once it has been verified. With a
+ * {@link BoundedPasswordEncoder} that hash can be turned away when the queue filled up
+ * since {@link BoundedPasswordEncoder#upgradeEncoding(String)} let it through; the login
+ * then succeeds with the stored hash left as it was, to be upgraded on a later login.
+ */
+@Slf4j
+public class OpportunisticUpgradeAuthenticationProvider extends DaoAuthenticationProvider {
+
+    @Override
+    protected Authentication createSuccessAuthentication(
+            Object principal,
+            Authentication authentication,
+            UserDetails user
+    ) {
+        try {
+            return super.createSuccessAuthentication(principal, authentication, user);
+        } catch (PasswordHashingRejectedException e) {
+            log.debug("skipped password hash upgrade on login: {}", e.getMessage());
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    principal, authentication.getCredentials(), user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+    }
+}
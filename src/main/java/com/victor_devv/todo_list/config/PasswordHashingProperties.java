@@ -0,0 +1,21 @@
+package com.victor_devv.todo_list.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Password hashing. Hashes are computed and verified by {@code threads} dedicated threads
+ * with BCrypt at cost {@code bcrypt-strength}; at most {@code max-queued} more requests
+ * may wait for one, beyond that they are turned away with 503. Raising the strength
+ * upgrades each stored hash the next time its user logs in.
+ */
+@Data
+@ConfigurationProperties("application.security.password")
+public class PasswordHashingProperties {
+
+    private int bcryptStrength = 10;
+
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private int maxQueued = 64;
+}
@@ -0,0 +1,11 @@
+package com.victor_devv.todo_list.config;
+
+/**
+ * Thrown when every hashing thread is busy and the queue in front of them is full.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,125 @@
+package com.victor_devv.todo_list.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.victor_devv.todo_list.config.jwt.JwtPrincipal;
+import com.victor_devv.todo_list.config.jwt.JwtService;
+import com.victor_devv.todo_list.controller.advice.ApiResponseBuilder;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the {@link RateLimitProperties} groups. Runs after {@code JwtAuthenticationFilter},
+ * so requests with a valid token are counted against their user and all others against
+ * their client IP. A request over its limit is answered with 429 and a {@code Retry-After}
+ * header giving the seconds until the next token.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String REJECTED_METRIC = "http.server.requests.throttled";
+    static final String BUCKETS_METRIC = "http.server.requests.throttle.buckets";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<Route> routes;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        List<Route> routes = new ArrayList<>();
+        if (properties.isEnabled()) {
+            properties.getGroups().forEach((name, group) -> {
+                RateLimiter limiter = new RateLimiter(group.getCapacity(), group.getRefillTokens(),
+                        group.getRefillPeriod(), properties.getMaximumKeys(), properties.getIdleTimeout());
+                Counter rejected = Counter.builder(REJECTED_METRIC)
+                        .description("Requests turned away for exceeding their rate limit")
+                        .tag("group", name)
+                        .register(meterRegistry);
+                Gauge.builder(BUCKETS_METRIC, limiter, RateLimiter::estimatedSize)
+                        .description("Rate limit buckets held in memory")
+                        .tag("group", name)
+                        .register(meterRegistry);
+                for (String pattern : group.getPaths()) {
+                    routes.add(new Route(pattern, group.getKey(), limiter, rejected));
+                }
+            });
+        }
+        routes.sort(Comparator.comparing(Route::pattern, PATH_MATCHER.getPatternComparator("")));
+        this.routes = List.copyOf(routes);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Route route = match(request.getRequestURI().substring(request.getContextPath().length()));
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.limiter().tryAcquire(key(route, request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.rejected().increment();
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponseBuilder.error(
+                "Too many requests, retry in " + retryAfter + " seconds",
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                null,
+                HttpStatus.TOO_MANY_REQUESTS
+        ).getBody());
+    }
+
+    private Route match(String path) {
+        for (Route route : routes) {
+            if (PATH_MATCHER.match(route.pattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The claims are only present once {@code JwtAuthenticationFilter} has verified the
+     * token and found it unrevoked.
+     */
+    private static Object key(Route route, HttpServletRequest request) {
+        if (route.key() == RateLimitProperties.Key.USER
+                && request.getAttribute(JwtService.CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            Long userId = claims.get(JwtPrincipal.USER_ID_CLAIM, Long.class);
+            if (userId != null) {
+                return userId;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private record Route(String pattern, RateLimitProperties.Key key, RateLimiter limiter, Counter rejected) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.victor_devv.todo_list.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request rate limits. Each request is counted against the group with the most specific
+ * of the {@code paths} it matches, in a token bucket of its user, or of its client IP for
+ * requests without a token. A bucket holds up to {@code capacity} tokens and gains
+ * {@code refill-tokens} every {@code refill-period}. Buckets unused for {@code idle-timeout}
+ * are dropped, and at most {@code maximum-keys} are kept per group.
+ */
+@Data
+@ConfigurationProperties("application.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private long maximumKeys = 1_000_000;
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Group> groups = new LinkedHashMap<>(Map.of(
+            "auth", new Group(List.of("/api/v1/auth/**"), 20, 10, Duration.ofMinutes(1), Key.IP),
+            "api", new Group(List.of("/api/v1/**"), 200, 100, Duration.ofSeconds(1), Key.USER)
+    ));
+
+    @Data
+    public static class Group {
+
+        private List<String> paths = new ArrayList<>();
+
+        private int capacity = 100;
+
+        private int refillTokens = 50;
+
+        private Duration refillPeriod = Duration.ofSeconds(1);
+
+        private Key key = Key.USER;
+
+        public Group() {
+        }
+
+        public Group(List<String> paths, int capacity, int refillTokens, Duration refillPeriod, Key key) {
+            this.paths = new ArrayList<>(paths);
+            this.capacity = capacity;
+            this.refillTokens = refillTokens;
+            this.refillPeriod = refillPeriod;
+            this.key = key;
+        }
+    }
+
+    /**
+     * {@code USER} falls back to the client IP for requests without a valid token.
+     */
+    public enum Key {
+        USER, IP
+    }
+}
@@ -0,0 +1,64 @@
+package com.victor_devv.todo_list.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for one rate limit group, one per key.
+ * <p>
+ * A bucket is kept as the single time at which it would be full again (the generic cell
+ * rate algorithm form of a token bucket), so taking a token is one compare-and-set on an
+ * {@link AtomicLong} and nothing is allocated once the bucket exists. Buckets live in a
+ * Caffeine cache, whose striped buffers keep lookups from contending, and are dropped
+ * once idle; an idle bucket would have refilled anyway, so dropping it changes nothing.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<Object, AtomicLong> buckets;
+
+    public RateLimiter(int capacity, int refillTokens, Duration refillPeriod, long maximumKeys, Duration idleTimeout) {
+        if (capacity < 1 || refillTokens < 1) {
+            throw new IllegalArgumentException("capacity and refill tokens must be positive");
+        }
+        this.intervalNanos = Math.max(1, refillPeriod.toNanos() / refillTokens);
+        this.toleranceNanos = intervalNanos * capacity;
+        Duration refillTime = Duration.ofNanos(toleranceNanos);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleTimeout.compareTo(refillTime) > 0 ? idleTimeout : refillTime)
+                .build();
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(Object key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(Object key, long now) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long estimatedSize() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,41 @@
+package com.victor_devv.todo_list.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replica pools that read-only transactions are routed to. Routing is off while
+ * {@code targets} is empty.
+ */
+@Data
+@ConfigurationProperties("application.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private List<Target> targets = new ArrayList<>();
+
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+
+    /**
+     * How long a user's reads stay on the primary after they committed a write;
+     * zero turns read-your-writes stickiness off.
+     */
+    private Duration stickiness = Duration.ZERO;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    @Data
+    public static class Target {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+    public enum Strategy {
+        ROUND_ROBIN, LEAST_CONNECTIONS
+    }
+}
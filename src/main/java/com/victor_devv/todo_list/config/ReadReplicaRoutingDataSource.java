@@ -0,0 +1,232 @@
+package com.victor_devv.todo_list.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * <p>
+ * The lookup happens when a connection is taken, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: only then is
+ * the transaction's read-only flag known by the time the connection is needed.
+ * With stickiness on, a user who committed a write reads from the primary for that long
+ * afterwards, so they see their own change regardless of replication lag. Reads that must
+ * never see a replica further behind than an earlier read are wrapped in {@link #onPrimary}.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    static final String ROUTED_METRIC = "datasource.routing.connections";
+    static final String HEALTHY_METRIC = "datasource.replica.healthy";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadReplicaProperties.Strategy strategy;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Cache<String, Boolean> recentWriters;
+    private final Counter primaryConnections;
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadReplicaRoutingDataSource(
+            DataSource primary,
+            List<? extends DataSource> replicaPools,
+            ReadReplicaProperties.Strategy strategy,
+            Duration stickiness,
+            Duration healthCheckInterval,
+            MeterRegistry meterRegistry
+    ) {
+        this.strategy = strategy;
+        this.recentWriters = stickiness.isZero()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(stickiness).build();
+        this.primaryConnections = routedCounter(meterRegistry, PRIMARY);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (DataSource dataSource : replicaPools) {
+            HikariDataSource pool = hikariPool(dataSource);
+            Replica replica = new Replica(
+                    pool.getPoolName(), dataSource, pool, routedCounter(meterRegistry, pool.getPoolName()));
+            Gauge.builder(HEALTHY_METRIC, replica.healthy, healthy -> healthy.get() ? 1 : 0)
+                    .description("Whether the replica passed its last health check")
+                    .tag("target", replica.name)
+                    .register(meterRegistry);
+            replicas.add(replica);
+            targets.put(replica.name, dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-health-check")
+                .daemon(true)
+                .factory());
+        long interval = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs {@code action} with every connection it takes coming from the primary, read-only
+     * transactions included. As connections are only taken on the first statement, the
+     * transaction may already have been begun when this is called. Unlike a read-write
+     * transaction, this does not start the user's stickiness window.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isOnPrimary()) {
+            return action.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    public static boolean isOnPrimary() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String user = recentWriters == null ? null : currentUser();
+        if (!readOnly) {
+            rememberWrite(user);
+        } else if (!isOnPrimary() && (user == null || recentWriters.getIfPresent(user) == null)) {
+            Replica replica = pickReplica();
+            if (replica != null) {
+                replica.connections.increment();
+                return replica.name;
+            }
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Marks every replica healthy or not depending on whether its pool hands out a valid
+     * connection. The pool is asked directly, so a check never waits behind requests.
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+            }
+            if (replica.healthy.getAndSet(healthy) != healthy) {
+                log.warn("Replica {} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private Replica pickReplica() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy.get()).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        if (strategy == ReadReplicaProperties.Strategy.LEAST_CONNECTIONS) {
+            Replica least = healthy.get(0);
+            for (Replica replica : healthy) {
+                if (replica.activeConnections() < least.activeConnections()) {
+                    least = replica;
+                }
+            }
+            return least;
+        }
+        return healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+    }
+
+    /**
+     * Starts the user's stickiness window once the writing transaction has committed.
+     */
+    private void rememberWrite(String user) {
+        if (user == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    /**
+     * The Hikari pool behind a replica, which may be wrapped, as by a
+     * {@link ConnectionPermitDataSource}; its pool stats drive least-connections routing.
+     */
+    private static HikariDataSource hikariPool(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalArgumentException("Replica data source is not backed by a Hikari pool", e);
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder(ROUTED_METRIC)
+                .description("Connections handed out, by routing target")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private record Replica(
+            String name, DataSource dataSource, HikariDataSource pool, Counter connections, AtomicBoolean healthy) {
+
+        Replica(String name, DataSource dataSource, HikariDataSource pool, Counter connections) {
+            this(name, dataSource, pool, connections, new AtomicBoolean(true));
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean == null ? 0 : mxBean.getActiveConnections();
+        }
+    }
+}
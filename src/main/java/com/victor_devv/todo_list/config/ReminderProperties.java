@@ -0,0 +1,28 @@
+package com.victor_devv.todo_list.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Due-date reminders. Every {@code poll-interval} each node queues reminders for todos
+ * due within {@code lead-time} and for those that became overdue within
+ * {@code overdue-window}, then delivers up to {@code batch-size} queued reminders.
+ */
+@Data
+@ConfigurationProperties("application.reminders")
+public class ReminderProperties {
+
+    private boolean enabled = true;
+
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    private Duration leadTime = Duration.ofHours(1);
+
+    private Duration overdueWindow = Duration.ofDays(1);
+
+    private int batchSize = 100;
+
+    private int maxAttempts = 5;
+}
@@ -0,0 +1,45 @@
+package com.victor_devv.todo_list.config;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.ImplicitDatabaseObjectNamingStrategy;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * Names implicit id sequences {@code <table>_id_seq}, which is the sequence
+ * PostgreSQL creates for a {@code BIGSERIAL} primary key.
+ */
+public class TableSequenceNamingStrategy implements ImplicitDatabaseObjectNamingStrategy {
+
+    private final StandardNamingStrategy standard = new StandardNamingStrategy();
+
+    @Override
+    public QualifiedName determineSequenceName(
+            Identifier catalogName,
+            Identifier schemaName,
+            Map<?, ?> configValues,
+            ServiceRegistry serviceRegistry
+    ) {
+        String tableName = ConfigurationHelper.getString(PersistentIdentifierGenerator.TABLE, configValues);
+        if (tableName == null) {
+            return standard.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+        }
+        return new QualifiedSequenceName(catalogName, schemaName, Identifier.toIdentifier(tableName + "_id_seq"));
+    }
+
+    @Override
+    public QualifiedName determineTableName(
+            Identifier catalogName,
+            Identifier schemaName,
+            Map<?, ?> configValues,
+            ServiceRegistry serviceRegistry
+    ) {
+        return standard.determineTableName(catalogName, schemaName, configValues, serviceRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.victor_devv.todo_list.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The todo event stream. Each node reads new events from the outbox every
+ * {@code poll-interval}, at most {@code batch-size} at a time, and keeps up to
+ * {@code subscriber-queue-capacity} undelivered events per subscriber; a subscriber
+ * that falls further behind is disconnected and resumes from the outbox when it reconnects.
+ */
+@Data
+@ConfigurationProperties("application.todos.events")
+public class TodoEventProperties {
+
+    private Duration pollInterval = Duration.ofMillis(250);
+
+    private int batchSize = 500;
+
+    private int subscriberQueueCapacity = 1000;
+
+    /**
+     * How often an idle stream gets a comment, so proxies keep it open and dead
+     * connections are noticed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /**
+     * How long a stream stays open before the client has to reconnect.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * How long events are kept for clients resuming with {@code Last-Event-ID}.
+     */
+    private Duration retention = Duration.ofDays(1);
+}
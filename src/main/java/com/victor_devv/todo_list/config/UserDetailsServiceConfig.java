@@ -2,19 +2,38 @@ package com.victor_devv.todo_list.config;
 
 import com.victor_devv.todo_list.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.*;
+import org.springframework.transaction.support.TransactionTemplate;
 
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class UserDetailsServiceConfig {
 
     private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
 
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
+
+    /**
+     * Stores the upgraded hash after a successful login with a password that was
+     * hashed at a lower cost than the one configured now.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> transactionTemplate.execute(status -> {
+            var stored = userRepository.findByEmail(user.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+            stored.setPassword(newPassword);
+            log.info("upgraded password hash of user with id: {}", stored.getId());
+            return stored;
+        });
+    }
 }
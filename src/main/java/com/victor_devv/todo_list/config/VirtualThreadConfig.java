@@ -0,0 +1,56 @@
+package com.victor_devv.todo_list.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.java21.instrument.binder.jdk.VirtualThreadMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}, under which Spring Boot
+ * runs Tomcat requests and {@code @Async} methods on virtual threads.
+ * Since request concurrency is then bounded by {@code server.tomcat.max-connections}
+ * rather than the worker pool, each Hikari pool is put behind a {@link ConnectionPermitDataSource},
+ * and pinned virtual threads are reported as {@code jvm.threads.virtual.pinned}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "close")
+    public VirtualThreadMetrics virtualThreadMetrics() {
+        return new VirtualThreadMetrics();
+    }
+
+    /**
+     * Wraps the pool only once it is fully initialized, so the
+     * {@code spring.datasource.hikari} properties have already been bound to it. The read
+     * replica pools are not beans; {@link DatabaseConfig} runs them through this as well.
+     */
+    @Bean
+    public static BeanPostProcessor connectionPermitDataSourcePostProcessor(
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxWaiting = environment.getProperty(
+                "application.datasource.connection-permits.max-waiting", Integer.class, 1000);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionPermitDataSource(
+                            hikari,
+                            hikari.getPoolName(),
+                            hikari.getMaximumPoolSize(),
+                            maxWaiting,
+                            hikari.getConnectionTimeout(),
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
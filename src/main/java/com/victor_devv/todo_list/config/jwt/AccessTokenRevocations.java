@@ -0,0 +1,168 @@
+package com.victor_devv.todo_list.config.jwt;
+
+import com.victor_devv.todo_list.domain.entity.RefreshToken;
+import com.victor_devv.todo_list.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The ids ({@code jti}) of revoked access tokens that have not expired yet.
+ * <p>
+ * Every request checks its token against a Bloom filter first, which answers for the
+ * overwhelmingly common unrevoked token without allocating or taking a lock; only on a
+ * possible match is the exact set consulted. Entries leave the set when their token
+ * expires, and the filter is then rebuilt from what is left, so it never fills up.
+ * <p>
+ * Revocations made on other nodes are read from {@code refresh_tokens} every
+ * {@code poll-interval}, which bounds how long a revoked token stays usable elsewhere.
+ */
+@Slf4j
+@Component
+public class AccessTokenRevocations {
+
+    static final String REVOKED_METRIC = "security.jwt.revoked";
+
+    /**
+     * How far back each poll reads again, to pick up revocations whose transaction
+     * committed late or whose node's clock is behind.
+     */
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int bloomBits;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private volatile BloomFilter filter;
+    private LocalDateTime polledUpTo;
+
+    public AccessTokenRevocations(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${application.security.jwt.revocation.bloom-bits:1048576}") int bloomBits,
+            @Value("${application.security.jwt.expiration}") long accessTokenExpiration,
+            MeterRegistry meterRegistry
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.bloomBits = bloomBits;
+        this.filter = new BloomFilter(bloomBits);
+        this.polledUpTo = LocalDateTime.now().minus(Duration.ofMillis(accessTokenExpiration));
+        Gauge.builder(REVOKED_METRIC, revoked, Map::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        long expiresAtMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        synchronized (lock) {
+            revoked.put(jti, expiresAtMillis);
+            filter.add(jti);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation.poll-interval:5s}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RefreshToken token : refreshTokenRepository.findAccessRevokedSince(polledUpTo.minus(POLL_OVERLAP), now)) {
+            revoke(token.getAccessJti(), token.getAccessExpiresAt());
+        }
+        polledUpTo = now;
+        evictExpired();
+    }
+
+    /**
+     * Drops expired entries and, if there were any, swaps in a filter holding only the
+     * remaining ones. Runs under the same lock as {@link #revoke}, so no revocation made
+     * meanwhile is missing from the new filter.
+     */
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+                return;
+            }
+            BloomFilter rebuilt = new BloomFilter(bloomBits);
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+        log.debug("{} revoked access tokens still unexpired", revoked.size());
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    /**
+     * A fixed-size Bloom filter over strings, probed with double hashing of a 64-bit
+     * FNV-1a hash of the characters. Adds may race with reads but never lose bits.
+     */
+    static final class BloomFilter {
+
+        private static final int HASHES = 4;
+
+        private final AtomicLongArray words;
+        private final int bits;
+
+        BloomFilter(int bits) {
+            this.bits = Math.max(64, bits);
+            this.words = new AtomicLongArray((this.bits + 63) >>> 6);
+        }
+
+        void add(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
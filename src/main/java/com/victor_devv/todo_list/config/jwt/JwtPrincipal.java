@@ -0,0 +1,63 @@
+package com.victor_devv.todo_list.config.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable principal built from verified token claims, used instead of the
+ * {@code User} entity when stateless principals are enabled.
+ */
+public record JwtPrincipal(Long id, String email, List<GrantedAuthority> authorities) implements UserDetails {
+
+    public static final String USER_ID_CLAIM = "user_id";
+    public static final String AUTHORITIES_CLAIM = "user_authorities";
+
+    public JwtPrincipal {
+        authorities = List.copyOf(authorities);
+    }
+
+    public static JwtPrincipal fromClaims(Claims claims) {
+        return new JwtPrincipal(
+                claims.get(USER_ID_CLAIM, Long.class),
+                claims.getSubject(),
+                extractAuthorities(claims.get(AUTHORITIES_CLAIM))
+        );
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    /**
+     * Authorities are serialized by Jackson either as plain strings or as
+     * {@code {"authority": "..."}} objects, depending on how the token was issued.
+     */
+    private static List<GrantedAuthority> extractAuthorities(Object claim) {
+        if (!(claim instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream()
+                .map(value -> value instanceof Map<?, ?> map ? map.get("authority") : value)
+                .filter(Objects::nonNull)
+                .map(value -> (GrantedAuthority) new SimpleGrantedAuthority(value.toString()))
+                .toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.victor_devv.todo_list.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.victor_devv.todo_list.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Resolves the principal for a verified token.
+ * <p>
+ * By default the user is loaded through the {@link UserDetailsService} on every request.
+ * In stateless mode a {@link JwtPrincipal} is built from the claims instead, and the
+ * database is only consulted once per revalidation interval, or on the next request
+ * after {@link #signalRevocation(Long)} was called for the user.
+ */
+@Component
+public class JwtPrincipalResolver {
+
+    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final boolean stateless;
+    private final Cache<Long, String> validatedEmails;
+
+    public JwtPrincipalResolver(
+            UserDetailsService userDetailsService,
+            UserRepository userRepository,
+            @Value("${application.security.jwt.stateless-principal.enabled:false}") boolean stateless,
+            @Value("${application.security.jwt.stateless-principal.revalidate-interval:5m}") Duration revalidateInterval,
+            @Value("${application.security.jwt.stateless-principal.maximum-size:100000}") long maximumSize
+    ) {
+        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+        this.stateless = stateless;
+        this.validatedEmails = Caffeine.newBuilder()
+                .expireAfterWrite(revalidateInterval)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public UserDetails resolve(Claims claims) {
+        if (!stateless || claims.get(JwtPrincipal.USER_ID_CLAIM) == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        JwtPrincipal principal = JwtPrincipal.fromClaims(claims);
+        String email = validatedEmails.get(principal.id(),
+                id -> userRepository.findEmailById(id).orElse(null));
+        if (email == null || !email.equals(principal.email())) {
+            throw new UsernameNotFoundException("User not found: " + principal.email());
+        }
+        return principal;
+    }
+
+    /**
+     * Forces the next request of the user to be checked against the database.
+     */
+    public void signalRevocation(Long userId) {
+        validatedEmails.invalidate(userId);
+    }
+}
@@ -1,11 +1,14 @@
 package com.victor_devv.todo_list.config.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -17,8 +20,17 @@ import java.util.Map;
 import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    /**
+     * Request attribute holding the verified {@link Claims} of the bearer token,
+     * set by {@link JwtAuthenticationFilter} so handlers don't parse the token again.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtService.class.getName() + ".CLAIMS";
+
+    private final JwtClaimsCache claimsCache;
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
 
@@ -28,6 +40,18 @@ public class JwtService {
     @Value("${application.security.jwt.refresh-token.expiration}")
     private long refreshExpiration;
 
+    private Key signInKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signInKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -36,6 +60,10 @@ public class JwtService {
         return extractClaim(token, claims -> claims.get("user_id", Long.class));
     }
 
+    public Long extractUserId(HttpServletRequest request) {
+        return extractAllClaims(request).get("user_id", Long.class);
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -52,10 +80,12 @@ public class JwtService {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
-    public String generateRefreshToken(
-            UserDetails userDetails
-    ) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+    public long getAccessTokenExpiration() {
+        return jwtExpiration;
+    }
+
+    public long getRefreshTokenExpiration() {
+        return refreshExpiration;
     }
 
     private String buildToken(
@@ -69,13 +99,17 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
     public String extractTokenFromRequest(HttpServletRequest request) {
@@ -86,25 +120,30 @@ public class JwtService {
         return authHeader.substring(7);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Returns the verified claims of the request's bearer token, reusing the ones
+     * attached by {@link JwtAuthenticationFilter} when present.
+     */
+    public Claims extractAllClaims(HttpServletRequest request) {
+        if (request.getAttribute(CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            return claims;
+        }
+        Claims claims = extractAllClaims(extractTokenFromRequest(request));
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+        return claims;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public Claims extractAllClaims(String token) {
+        return claimsCache.get(token, this::parseClaims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims parseClaims(String token) {
+        return jwtParser
+                .parseClaimsJws(token)
+                .getBody();
     }
 }
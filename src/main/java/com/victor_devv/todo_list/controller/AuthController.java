@@ -3,7 +3,9 @@ package com.victor_devv.todo_list.controller;
 import com.victor_devv.todo_list.controller.advice.ApiResponseBuilder;
 import com.victor_devv.todo_list.controller.advice.jsend.JSendResponse;
 import com.victor_devv.todo_list.domain.dto.LoginRequest;
+import com.victor_devv.todo_list.domain.dto.RefreshTokenRequest;
 import com.victor_devv.todo_list.domain.dto.UserRequest;
+import com.victor_devv.todo_list.service.TokenService;
 import com.victor_devv.todo_list.service.UserService;
 import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final UserService userService;
+    private final TokenService tokenService;
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
@@ -40,4 +43,24 @@ public class AuthController {
     ) {
         return ApiResponseBuilder.success(userService.authenticate(request));
     }
+
+    @PostMapping("/refresh")
+    @Timed(value = "user.refresh", description = "Time taken to refresh a user's tokens")
+    @Operation(summary = "Exchange a refresh token for a new access and refresh token")
+    public ResponseEntity<JSendResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request
+    ) {
+        return ApiResponseBuilder.success(tokenService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Timed(value = "user.logout", description = "Time taken to revoke a user's tokens")
+    @Operation(summary = "Revoke a refresh token and the access tokens issued with it")
+    public ResponseEntity<Void> logout(
+            @Valid @RequestBody RefreshTokenRequest request
+    ) {
+        tokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
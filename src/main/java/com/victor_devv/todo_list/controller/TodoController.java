@@ -3,24 +3,43 @@ package com.victor_devv.todo_list.controller;
 import com.victor_devv.todo_list.config.jwt.JwtService;
 import com.victor_devv.todo_list.controller.advice.ApiResponseBuilder;
 import com.victor_devv.todo_list.controller.advice.jsend.JSendResponse;
+import com.victor_devv.todo_list.domain.dto.CursorPage;
+import com.victor_devv.todo_list.domain.dto.TodoBatchRequest;
 import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoExportFormat;
+import com.victor_devv.todo_list.domain.dto.TodoFilter;
 import com.victor_devv.todo_list.domain.dto.TodoRequest;
+import com.victor_devv.todo_list.domain.dto.TodoSort;
+import com.victor_devv.todo_list.domain.dto.TodoStatusTransitionRequest;
+import com.victor_devv.todo_list.service.TodoEventService;
 import com.victor_devv.todo_list.service.TodoService;
 import com.victor_devv.todo_list.util.Constants;
+import com.victor_devv.todo_list.util.ETags;
 import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 @Slf4j
 @RestController
@@ -31,18 +50,23 @@ import org.springframework.web.bind.annotation.*;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoEventService todoEventService;
     private final JwtService jwtService;
 
     @GetMapping("/{id}")
     @Timed(value = "todo.findById", description = "Time taken to find a todo by id")
-    public ResponseEntity<JSendResponse> findById(HttpServletRequest request, @PathVariable Long id) {
-        TodoDto todoDto = todoService.findById(id);
-        String token = jwtService.extractTokenFromRequest(request);
-        Long userId = jwtService.extractUserId(token);
-        if (!todoDto.getUserId().equals(userId)) {
-            return ApiResponseBuilder.fail(null, HttpStatus.FORBIDDEN);
+    public ResponseEntity<JSendResponse> findById(
+            HttpServletRequest request,
+            WebRequest webRequest,
+            @PathVariable Long id) {
+        Long userId = jwtService.extractUserId(request);
+        // A revalidation only needs the version; the todo itself is loaded once it has changed.
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(ETags.of(id, todoService.findVersion(id, userId)))) {
+            return null;
         }
-        return ApiResponseBuilder.success(todoDto);
+        TodoDto todo = todoService.findById(id, userId);
+        return ApiResponseBuilder.success(todo, ETags.of(todo));
     }
 
     @GetMapping
@@ -50,9 +74,107 @@ public class TodoController {
     public ResponseEntity<JSendResponse> findAll(
             HttpServletRequest request,
             @PageableDefault(size = Constants.DEFAULT_PAGE_SIZE) Pageable pageable) {
-        String token = jwtService.extractTokenFromRequest(request);
-        Long userId = jwtService.extractUserId(token);
-        return ApiResponseBuilder.success(todoService.findAllByUserId(userId, pageable));
+        Long userId = jwtService.extractUserId(request);
+        Page<TodoDto> todos = todoService.findAllByUserId(userId, pageable);
+        return ApiResponseBuilder.success(todos, ETags.weak(todos.getContent(), todos.getTotalElements()));
+    }
+
+    @GetMapping("/filter")
+    @Timed(value = "todo.filter", description = "Time taken to find a user's todos matching a filter")
+    public ResponseEntity<JSendResponse> filter(
+            HttpServletRequest request,
+            @ModelAttribute TodoFilter filter,
+            @PageableDefault(size = Constants.DEFAULT_PAGE_SIZE, sort = "dueDate") Pageable pageable) {
+        Long userId = jwtService.extractUserId(request);
+        Page<TodoDto> todos = todoService.findAllByUserId(userId, filter, pageable);
+        return ApiResponseBuilder.success(todos, ETags.weak(todos.getContent(), todos.getTotalElements()));
+    }
+
+    @GetMapping("/scroll")
+    @Timed(value = "todo.scroll", description = "Time taken to list a page of todos after a cursor")
+    public ResponseEntity<JSendResponse> scroll(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "created_at") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Constants.DEFAULT_PAGE_SIZE) int size) {
+        Long userId = jwtService.extractUserId(request);
+        CursorPage<TodoDto> todos = todoService.scrollByUserId(
+                userId,
+                TodoSort.fromParameter(sort),
+                Sort.Direction.fromString(direction),
+                cursor,
+                Math.clamp(size, 1, Constants.MAX_PAGE_SIZE));
+        return ApiResponseBuilder.success(todos, ETags.weak(todos.getItems(), todos.getNextCursor()));
+    }
+
+    @GetMapping("/search")
+    @Timed(value = "todo.search", description = "Time taken to search a user's todos")
+    public ResponseEntity<JSendResponse> search(
+            HttpServletRequest request,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Constants.DEFAULT_PAGE_SIZE) int size) {
+        Long userId = jwtService.extractUserId(request);
+        return ApiResponseBuilder.success(todoService.search(
+                userId, q, cursor, Math.clamp(size, 1, Constants.MAX_PAGE_SIZE)));
+    }
+
+    @GetMapping("/stats")
+    @Timed(value = "todo.stats", description = "Time taken to count a user's todos by status and priority")
+    public ResponseEntity<JSendResponse> stats(HttpServletRequest request) {
+        Long userId = jwtService.extractUserId(request);
+        return ApiResponseBuilder.success(todoService.getStats(userId));
+    }
+
+    /**
+     * Returns what changed since {@code since}, the {@code nextToken} of the previous call.
+     * Clients call again with each {@code nextToken} while {@code hasMore} is set, and keep
+     * the last one for their next sync.
+     */
+    @GetMapping("/changes")
+    @Timed(value = "todo.changes", description = "Time taken to list the changes to a user's todos since a sync token")
+    public ResponseEntity<JSendResponse> changes(
+            HttpServletRequest request,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + Constants.DEFAULT_SYNC_PAGE_SIZE) int size) {
+        Long userId = jwtService.extractUserId(request);
+        return ApiResponseBuilder.success(todoService.findChanges(
+                userId, since, Math.clamp(size, 1, Constants.MAX_SYNC_PAGE_SIZE)));
+    }
+
+    /**
+     * Pushes the user's todo events as they commit. A reconnecting client sends the id of
+     * the last event it got as {@code Last-Event-ID} and receives what it missed first.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Timed(value = "todo.stream", description = "Time taken to open a stream of a user's todo events")
+    public SseEmitter stream(
+            HttpServletRequest request,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long userId = jwtService.extractUserId(request);
+        return todoEventService.subscribe(userId, lastEventId);
+    }
+
+    /**
+     * Streams all of the user's todos straight to the response, on the request thread,
+     * so a long export is not cut off by the async request timeout.
+     */
+    @GetMapping("/export")
+    @Timed(value = "todo.export", description = "Time taken to export all todos belonging to a user")
+    public void export(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(defaultValue = "ndjson") String format) throws IOException {
+        Long userId = jwtService.extractUserId(request);
+        TodoExportFormat exportFormat = TodoExportFormat.fromParameter(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("todos." + exportFormat.getParameter())
+                .build()
+                .toString());
+        todoService.export(userId, exportFormat, response.getOutputStream());
     }
 
     @PostMapping
@@ -65,19 +187,35 @@ public class TodoController {
         return ApiResponseBuilder.success(todoService.create(userDetails.getUsername(), payload), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Timed(value = "todo.batch", description = "Time taken to apply a batch of todo operations")
+    public ResponseEntity<JSendResponse> batch(
+            HttpServletRequest request,
+            @Valid @RequestBody TodoBatchRequest payload) {
+        Long userId = jwtService.extractUserId(request);
+        return ApiResponseBuilder.success(todoService.batch(userId, payload.getOperations()));
+    }
+
+    /**
+     * Imports todos from an NDJSON body, one {@link TodoRequest} per line, read as it arrives.
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Timed(value = "todo.import", description = "Time taken to import todos from an NDJSON body")
+    public ResponseEntity<JSendResponse> importTodos(HttpServletRequest request) throws IOException {
+        Long userId = jwtService.extractUserId(request);
+        return ApiResponseBuilder.success(todoService.importTodos(userId, request.getInputStream()));
+    }
+
     @PutMapping("/{id}")
     @Timed(value = "todo.update", description = "Time taken to update a todo item")
     public ResponseEntity<JSendResponse> update(
             HttpServletRequest request,
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TodoRequest payload) {
-        TodoDto existingTodo = todoService.findById(id);
-        String token = jwtService.extractTokenFromRequest(request);
-        Long userId = jwtService.extractUserId(token);
-        if (!existingTodo.getUserId().equals(userId)) {
-            return ApiResponseBuilder.fail(null, HttpStatus.FORBIDDEN);
-        }
-        return ApiResponseBuilder.success(todoService.update(id, payload));
+        Long userId = jwtService.extractUserId(request);
+        TodoDto todo = todoService.update(id, userId, ETags.expectedVersion(ifMatch, id), payload);
+        return ApiResponseBuilder.success(todo, ETags.of(todo));
     }
 
     @DeleteMapping("/{id}")
@@ -85,14 +223,10 @@ public class TodoController {
     @Timed(value = "todo.delete", description = "Time taken to delete a todo")
     public ResponseEntity<Void> delete(
             HttpServletRequest request,
-            @PathVariable Long id) {
-        TodoDto existingTodo = todoService.findById(id);
-        String token = jwtService.extractTokenFromRequest(request);
-        Long userId = jwtService.extractUserId(token);
-        if (!existingTodo.getUserId().equals(userId)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-        todoService.delete(id);
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long userId = jwtService.extractUserId(request);
+        todoService.delete(id, userId, ETags.expectedVersion(ifMatch, id));
         return ResponseEntity.noContent().build();
     }
 
@@ -100,13 +234,19 @@ public class TodoController {
     @Timed(value = "todo.complete", description = "Time taken to mark a todo as completed")
     public ResponseEntity<JSendResponse> markAsCompleted(
             HttpServletRequest request,
-            @PathVariable Long id) {
-        TodoDto existingTodo = todoService.findById(id);
-        String token = jwtService.extractTokenFromRequest(request);
-        Long userId = jwtService.extractUserId(token);
-        if (!existingTodo.getUserId().equals(userId)) {
-            return ApiResponseBuilder.fail(null, HttpStatus.FORBIDDEN);
-        }
-        return ApiResponseBuilder.success(todoService.markAsCompleted(id));
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long userId = jwtService.extractUserId(request);
+        TodoDto todo = todoService.markAsCompleted(id, userId, ETags.expectedVersion(ifMatch, id));
+        return ApiResponseBuilder.success(todo, ETags.of(todo));
+    }
+
+    @PatchMapping("/status")
+    @Timed(value = "todo.transition", description = "Time taken to move matching todos to a new status")
+    public ResponseEntity<JSendResponse> transitionStatus(
+            HttpServletRequest request,
+            @Valid @RequestBody TodoStatusTransitionRequest payload) {
+        Long userId = jwtService.extractUserId(request);
+        return ApiResponseBuilder.success(todoService.transitionStatus(userId, payload));
     }
 }
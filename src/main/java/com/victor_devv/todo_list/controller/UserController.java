@@ -1,5 +1,6 @@
 package com.victor_devv.todo_list.controller;
 
+import com.victor_devv.todo_list.domain.dto.CursorPage;
 import com.victor_devv.todo_list.domain.dto.UserDto;
 import com.victor_devv.todo_list.service.UserService;
 import com.victor_devv.todo_list.util.Constants;
@@ -35,4 +36,12 @@ public class UserController {
         return ResponseEntity.ok(userService.findAll(pageable));
     }
 
+    @GetMapping("/scroll")
+    @Timed(value = "user.scroll", description = "Time taken to list a page of users after a cursor")
+    public ResponseEntity<CursorPage<UserDto>> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Constants.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(userService.scroll(cursor, Math.clamp(size, 1, Constants.MAX_PAGE_SIZE)));
+    }
+
 }
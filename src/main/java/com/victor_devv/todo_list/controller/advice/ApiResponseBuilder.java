@@ -18,6 +18,10 @@ public class ApiResponseBuilder {
         return ResponseEntity.status(status).body(new JSendSuccess(data));
     }
 
+    public static ResponseEntity<JSendResponse> success(Object data, String eTag) {
+        return ResponseEntity.ok().eTag(eTag).body(new JSendSuccess(data));
+    }
+
     public static ResponseEntity<JSendResponse> fail(Object data, HttpStatus status) {
         return ResponseEntity.status(status).body(new JSendFail(data));
     }
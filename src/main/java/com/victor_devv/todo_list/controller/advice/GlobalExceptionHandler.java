@@ -1,12 +1,16 @@
 package com.victor_devv.todo_list.controller.advice;
 
+import com.victor_devv.todo_list.config.PasswordHashingRejectedException;
 import com.victor_devv.todo_list.controller.advice.jsend.JSendResponse;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -21,6 +25,20 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(AuthenticationException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public ResponseEntity<JSendResponse> handleAuthenticationException(
+            AuthenticationException ex, WebRequest request) {
+        log.warn("Authentication failed: {}", ex.getMessage());
+
+        return ApiResponseBuilder.error(
+                ex.getMessage(),
+                HttpStatus.UNAUTHORIZED.value(),
+                null,
+                HttpStatus.UNAUTHORIZED
+        );
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<JSendResponse> handleEntityNotFoundException(
@@ -93,6 +111,48 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ResponseEntity<JSendResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        log.warn("Stale version: {}", ex.getMessage());
+
+        return ApiResponseBuilder.error(
+                "The resource has been modified since it was last read",
+                HttpStatus.PRECONDITION_FAILED.value(),
+                null,
+                HttpStatus.PRECONDITION_FAILED
+        );
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<JSendResponse> handleCannotCreateTransactionException(
+            CannotCreateTransactionException ex, WebRequest request) {
+        log.warn("No database connection available: {}", ex.getMessage());
+
+        return ApiResponseBuilder.error(
+                "The service is busy, please retry shortly",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                null,
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<JSendResponse> handlePasswordHashingRejectedException(
+            PasswordHashingRejectedException ex, WebRequest request) {
+        log.warn("Password hashing saturated: {}", ex.getMessage());
+
+        return ApiResponseBuilder.error(
+                "The service is busy, please retry shortly",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                null,
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<JSendResponse> handleAllUncaughtException(
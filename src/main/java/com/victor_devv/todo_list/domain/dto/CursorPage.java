@@ -0,0 +1,37 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Builds a page from a query that fetched one row more than {@code size},
+     * the extra row only signalling that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, PageCursor> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<T> items = hasNext ? fetched.subList(0, size) : fetched;
+        return CursorPage.<T>builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null)
+                .build();
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
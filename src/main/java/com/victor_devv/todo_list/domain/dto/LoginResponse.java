@@ -9,4 +9,10 @@ import lombok.*;
 public class LoginResponse {
     private UserDto user;
     private String token;
+    private String refreshToken;
+
+    /**
+     * Seconds until {@link #token} expires.
+     */
+    private long expiresIn;
 }
@@ -0,0 +1,54 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last item of a keyset page: the sort it was taken from,
+ * the sort key of the last item ({@code null} for a null key) and its id as tie-breaker.
+ * Exposed to clients only as an opaque token.
+ */
+public record PageCursor(String sort, Sort.Direction direction, String value, Long id) {
+
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_VALUE = "\0";
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                sort,
+                direction.name(),
+                value == null ? NULL_VALUE : value,
+                id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+            return new PageCursor(
+                    parts[0],
+                    Sort.Direction.valueOf(parts[1]),
+                    NULL_VALUE.equals(parts[2]) ? null : parts[2],
+                    Long.valueOf(parts[3])
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+
+    /**
+     * Checks the cursor was issued for the same ordering it is being used with.
+     */
+    public PageCursor requireOrder(String sort, Sort.Direction direction) {
+        if (!this.sort.equals(sort) || this.direction != direction) {
+            throw new IllegalArgumentException("cursor was issued for a different sort order");
+        }
+        return this;
+    }
+}
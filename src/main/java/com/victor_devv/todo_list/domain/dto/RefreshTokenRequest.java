@@ -0,0 +1,13 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequest {
+    @NotBlank(message = "refresh token is required")
+    private String refreshToken;
+}
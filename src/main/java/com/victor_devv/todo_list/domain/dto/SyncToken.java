@@ -0,0 +1,55 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a user's change feed, which is ordered by the transaction that wrote each
+ * change and then by todo id. A continuation carries the horizon its sync reads up to;
+ * a watermark has none, and the sync it starts reads up to the horizon of that moment.
+ * {@code issuedAt} is when the horizon was taken. Exposed to clients only as an opaque token.
+ */
+public record SyncToken(long xid, long id, Long horizon, LocalDateTime issuedAt) {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Where a sync starts when the client holds nothing.
+     */
+    public static SyncToken start(LocalDateTime now) {
+        return new SyncToken(0L, 0L, null, now);
+    }
+
+    public boolean isContinuation() {
+        return horizon != null;
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                Long.toString(xid),
+                Long.toString(id),
+                horizon == null ? "" : horizon.toString(),
+                issuedAt.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("invalid sync token");
+            }
+            return new SyncToken(
+                    Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]),
+                    parts[2].isEmpty() ? null : Long.valueOf(parts[2]),
+                    LocalDateTime.parse(parts[3])
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid sync token", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchOperation {
+
+    @NotBlank(message = "op is required")
+    private String op; // CREATE, UPDATE, COMPLETE, DELETE
+
+    private Long id; // required for UPDATE, COMPLETE and DELETE
+
+    @Valid
+    private TodoRequest todo; // required for CREATE and UPDATE
+
+    public enum Type {
+        CREATE, UPDATE, COMPLETE, DELETE
+    }
+}
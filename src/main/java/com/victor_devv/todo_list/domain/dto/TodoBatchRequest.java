@@ -0,0 +1,23 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import com.victor_devv.todo_list.util.Constants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchRequest {
+
+    @NotEmpty(message = "operations are required")
+    @Size(max = Constants.MAX_BATCH_SIZE, message = "a batch cannot exceed " + Constants.MAX_BATCH_SIZE + " operations")
+    private List<@Valid TodoBatchOperation> operations;
+}
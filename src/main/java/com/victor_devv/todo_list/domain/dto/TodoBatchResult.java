@@ -0,0 +1,21 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoBatchResult {
+    private int index;
+    private String op;
+    private Long id;
+    private String status; // success, fail
+    private String message;
+    private TodoDto todo;
+}
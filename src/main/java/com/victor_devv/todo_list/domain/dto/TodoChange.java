@@ -0,0 +1,11 @@
+package com.victor_devv.todo_list.domain.dto;
+
+/**
+ * A todo as last written by transaction {@code xid}, or its deletion when {@code todo} is null.
+ */
+public record TodoChange(long xid, Long id, TodoDto todo) {
+
+    public boolean isDeletion() {
+        return todo == null;
+    }
+}
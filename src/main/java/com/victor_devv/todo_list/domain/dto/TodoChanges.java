@@ -0,0 +1,20 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoChanges {
+    private List<TodoDto> upserts;
+    private List<Long> deletedIds;
+    private String nextToken;
+    private boolean hasMore;
+    private boolean reset; // this sync starts over: drop every todo held locally before applying it
+}
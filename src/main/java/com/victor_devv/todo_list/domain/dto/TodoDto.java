@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class TodoDto {
     private Long id;
+    private Integer version;
     private String title;
     private String description;
     private String priority;
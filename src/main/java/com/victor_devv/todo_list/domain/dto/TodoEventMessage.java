@@ -0,0 +1,37 @@
+package com.victor_devv.todo_list.domain.dto;
+
+/**
+ * A committed todo event as read back from the outbox.
+ */
+public record TodoEventMessage(Position position, Long userId, Long todoId, String type, String payload) {
+
+    /**
+     * Place of an event in the stream: the transaction that appended it, then its id.
+     * Encoded, it is the SSE event id, which clients send back as {@code Last-Event-ID}
+     * to resume after it.
+     */
+    public record Position(long xid, long id) {
+
+        private static final String SEPARATOR = "-";
+
+        public boolean isAfter(Position other) {
+            return xid > other.xid || (xid == other.xid && id > other.id);
+        }
+
+        public String encode() {
+            return xid + SEPARATOR + id;
+        }
+
+        public static Position decode(String eventId) {
+            String[] parts = eventId.split(SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("invalid Last-Event-ID");
+            }
+            try {
+                return new Position(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid Last-Event-ID", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import java.util.Arrays;
+
+/**
+ * Formats a user's todos can be exported in. Both write one todo per line.
+ */
+public enum TodoExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String parameter;
+    private final String contentType;
+
+    TodoExportFormat(String parameter, String contentType) {
+        this.parameter = parameter;
+        this.contentType = contentType;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static TodoExportFormat fromParameter(String parameter) {
+        return Arrays.stream(values())
+                .filter(format -> format.parameter.equalsIgnoreCase(parameter))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("format must be one of ndjson, csv"));
+    }
+}
@@ -0,0 +1,7 @@
+package com.victor_devv.todo_list.domain.dto;
+
+/**
+ * A line of an import that was skipped, numbered from 1, and why.
+ */
+public record TodoImportRejection(long line, String message) {
+}
@@ -0,0 +1,18 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoImportResult {
+    private int imported;
+    private int rejected;
+    private List<TodoImportRejection> rejections; // the first Constants.MAX_IMPORT_REJECTIONS only
+}
@@ -0,0 +1,16 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a {@link com.victor_devv.todo_list.service.ReminderSink} is asked to deliver.
+ * {@code kind} is {@code DUE_SOON} or {@code OVERDUE}.
+ */
+public record TodoReminderNotification(
+        Long reminderId,
+        Long todoId,
+        Long userId,
+        String title,
+        LocalDateTime dueDate,
+        String kind) {
+}
@@ -0,0 +1,7 @@
+package com.victor_devv.todo_list.domain.dto;
+
+/**
+ * A todo matched by a search together with its relevance, which the next-page cursor is keyed on.
+ */
+public record TodoSearchHit(TodoDto todo, float rank) {
+}
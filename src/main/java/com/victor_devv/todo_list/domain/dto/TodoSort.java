@@ -0,0 +1,49 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import java.util.Arrays;
+
+/**
+ * Orders supported by keyset listing. Creation and due date are read off the
+ * (user_id, key, id) indexes of V5; priority is ordered by its rank, LOW lowest, on the
+ * (user_id, priority_rank, id) index of V12, while cursors keep the priority name.
+ */
+public enum TodoSort {
+    CREATED_AT("created_at", "createdAt"),
+    DUE_DATE("due_date", "dueDate"),
+    PRIORITY("priority", "priorityRank");
+
+    private final String parameter;
+    private final String attribute;
+
+    TodoSort(String parameter, String attribute) {
+        this.parameter = parameter;
+        this.attribute = attribute;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns the sort key of a todo in the form stored in a {@link PageCursor}.
+     */
+    public String keyOf(TodoDto todo) {
+        Object key = switch (this) {
+            case CREATED_AT -> todo.getCreatedAt();
+            case DUE_DATE -> todo.getDueDate();
+            case PRIORITY -> todo.getPriority();
+        };
+        return key == null ? null : key.toString();
+    }
+
+    public static TodoSort fromParameter(String parameter) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.parameter.equalsIgnoreCase(parameter))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("sort must be one of created_at, due_date, priority"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStats {
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+    private long overdue; // pending or in progress, with a due date in the past
+}
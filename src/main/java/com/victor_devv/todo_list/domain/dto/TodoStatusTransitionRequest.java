@@ -0,0 +1,21 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatusTransitionRequest {
+
+    @NotBlank(message = "status is required")
+    private String status; // COMPLETED, CANCELLED
+
+    @Valid
+    private TodoFilter filter;
+}
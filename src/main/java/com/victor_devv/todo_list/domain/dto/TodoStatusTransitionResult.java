@@ -0,0 +1,15 @@
+package com.victor_devv.todo_list.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatusTransitionResult {
+    private String status;
+    private int updated;
+}
@@ -1,8 +1,11 @@
 package com.victor_devv.todo_list.domain.entity;
 
+import com.victor_devv.todo_list.util.Constants;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
@@ -14,6 +17,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "todos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.TODO_CACHE_REGION)
 public class Todo extends BaseEntity {
 
     @Column(nullable = false)
@@ -26,6 +30,15 @@ public class Todo extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private Priority priority;
 
+    /**
+     * The priority as a number, LOW lowest, computed by the database for keyset listing
+     * by priority. Only set on todos read back from the database.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "priority_rank", insertable = false, updatable = false, columnDefinition = "integer generated always as "
+            + "(case priority when 'LOW' then 0 when 'MEDIUM' then 1 when 'HIGH' then 2 when 'URGENT' then 3 end)")
+    private Integer priorityRank;
+
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
     private Status status;
@@ -44,6 +57,9 @@ public class Todo extends BaseEntity {
         PENDING, IN_PROGRESS, COMPLETED, CANCELLED
     }
 
+    /**
+     * Declared lowest first: the ordinal is the {@code priority_rank} V12 computes.
+     */
     public enum Priority {
         LOW, MEDIUM, HIGH, URGENT
     }
@@ -0,0 +1,53 @@
+package com.victor_devv.todo_list.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox entry: a change to one of a user's todos, appended in the transaction that
+ * made it and relayed to the user's event streams once that transaction has committed.
+ * The payload is the event's data as sent, in JSON.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "todo_events")
+public class TodoEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * {@code SYNC} stands for changes to many todos at once, such as an import, which
+     * clients fetch through the changes endpoint rather than one event each.
+     */
+    public enum Type {
+        CREATED, UPDATED, COMPLETED, DELETED, SYNC
+    }
+}
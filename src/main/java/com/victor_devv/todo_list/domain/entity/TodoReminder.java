@@ -0,0 +1,56 @@
+package com.victor_devv.todo_list.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reminder about a todo's due date, recorded when it is queued and updated once it
+ * has been delivered. Each due date of a todo is reminded of at most once per kind.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "todo_reminders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_todo_reminders_todo_due_kind", columnNames = {"todo_id", "due_date", "kind"})
+})
+public class TodoReminder extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "todo_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Todo todo;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDateTime dueDate;
+
+    @Column(name = "kind", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Kind kind;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public enum Kind {
+        DUE_SOON, OVERDUE
+    }
+
+    public enum Status {
+        PENDING, SENT, FAILED, OBSOLETE
+    }
+}
@@ -0,0 +1,30 @@
+package com.victor_devv.todo_list.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per reminder kind. A node scans for due todos of a kind only while it holds
+ * the row's lock, so nodes polling at the same time split the kinds between them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "todo_reminder_scans")
+public class TodoReminderScan {
+
+    @Id
+    @Column(name = "kind", length = 20)
+    @Enumerated(EnumType.STRING)
+    private TodoReminder.Kind kind;
+
+    @Column(name = "scanned_at")
+    private LocalDateTime scannedAt;
+}
@@ -1,9 +1,14 @@
 package com.victor_devv.todo_list.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.victor_devv.todo_list.util.Constants;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,17 +23,23 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = Constants.USERS_USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = Constants.USERS_EMAIL_CONSTRAINT, columnNames = "email")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.USER_CACHE_REGION)
+@NaturalIdCache(region = Constants.USER_EMAIL_CACHE_REGION)
 public class User extends BaseEntity implements UserDetails {
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @JsonIgnore
     @Column(nullable = false)
     private String password;
 
-    @Column(nullable = false, unique = true)
+    @NaturalId
+    @Column(nullable = false)
     private String email;
 
     @Column(name = "first_name")
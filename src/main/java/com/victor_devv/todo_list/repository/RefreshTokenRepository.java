@@ -0,0 +1,58 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.entity.RefreshToken;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends BaseRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    List<RefreshToken> findByFamilyId(UUID familyId);
+
+    /**
+     * Revokes a single token unless it already was, so of two concurrent refreshes with
+     * the same token only one gets to rotate it.
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.revokedAt = :now where r.id = :id and r.revokedAt is null")
+    int revoke(Long id, LocalDateTime now);
+
+    /**
+     * Revokes every refresh token of the family and every access token issued with one
+     * that has not expired yet.
+     */
+    @Modifying
+    @Query("""
+            update RefreshToken r
+            set r.revokedAt = coalesce(r.revokedAt, :now),
+                r.accessRevokedAt = case when r.accessExpiresAt > :now then coalesce(r.accessRevokedAt, :now)
+                                         else r.accessRevokedAt end
+            where r.familyId = :familyId
+            """)
+    int revokeFamily(UUID familyId, LocalDateTime now);
+
+    @Query("""
+            select r from RefreshToken r
+            where r.accessRevokedAt > :since and r.accessExpiresAt > :now
+            """)
+    List<RefreshToken> findAccessRevokedSince(LocalDateTime since, LocalDateTime now);
+
+    /**
+     * Deletes tokens whose refresh token and access token both expired before {@code before}.
+     */
+    @Modifying
+    @Query("""
+            delete from RefreshToken r
+            where r.expiresAt < :before
+              and r.accessExpiresAt < :before
+            """)
+    int deleteExpiredBefore(LocalDateTime before);
+}
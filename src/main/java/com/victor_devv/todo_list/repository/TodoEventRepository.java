@@ -0,0 +1,16 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.entity.TodoEvent;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TodoEventRepository extends BaseRepository<TodoEvent, Long>, TodoEventRepositoryCustom {
+
+    @Modifying
+    @Query("delete from TodoEvent e where e.createdAt < :before")
+    int deleteCreatedBefore(LocalDateTime before);
+}
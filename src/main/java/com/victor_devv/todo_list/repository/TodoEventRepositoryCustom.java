@@ -0,0 +1,21 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.TodoEventMessage;
+
+import java.util.List;
+
+public interface TodoEventRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} events following {@code after}, of one user or of every
+     * user when {@code userId} is null, appended below the change horizon (see
+     * {@link TodoRepositoryCustom#findChangeHorizon()}). Where changes are not tracked the
+     * horizon is null, and events are returned in id order with transactions ignored.
+     */
+    List<TodoEventMessage> findAfter(Long userId, TodoEventMessage.Position after, Long horizon, int limit);
+
+    /**
+     * Returns the position of the last event, from where a stream that wants no history starts.
+     */
+    TodoEventMessage.Position findLastPosition(Long horizon);
+}
@@ -0,0 +1,76 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.TodoEventMessage;
+import com.victor_devv.todo_list.domain.entity.TodoEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+
+import java.util.List;
+
+class TodoEventRepositoryCustomImpl implements TodoEventRepositoryCustom {
+
+    private static final String SELECT_EVENTS_AFTER = """
+            SELECT CAST(CAST(change_xid AS TEXT) AS BIGINT) AS change_xid, id, user_id, todo_id, type, payload
+            FROM todo_events
+            WHERE %s (change_xid, id) > (CAST(CAST(:afterXid AS TEXT) AS xid8), :afterId)
+              AND change_xid < CAST(CAST(:horizon AS TEXT) AS xid8)
+            ORDER BY change_xid, id
+            """;
+
+    private static final String SELECT_EVENTS_AFTER_ID = "select e from TodoEvent e where %s e.id > :afterId order by e.id";
+
+    private static final String SELECT_LAST_ID = "select coalesce(max(e.id), 0) from TodoEvent e";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TodoEventMessage> findAfter(Long userId, TodoEventMessage.Position after, Long horizon, int limit) {
+        if (horizon == null) {
+            TypedQuery<TodoEvent> query = entityManager.createQuery(
+                            SELECT_EVENTS_AFTER_ID.formatted(userId == null ? "" : "e.userId = :userId and"), TodoEvent.class)
+                    .setParameter("afterId", after.id());
+            if (userId != null) {
+                query.setParameter("userId", userId);
+            }
+            return query.setMaxResults(limit)
+                    .getResultStream()
+                    .map(event -> new TodoEventMessage(new TodoEventMessage.Position(0L, event.getId()),
+                            event.getUserId(), event.getTodoId(), event.getType().name(), event.getPayload()))
+                    .toList();
+        }
+
+        NativeQuery<?> query = entityManager.createNativeQuery(SELECT_EVENTS_AFTER.formatted(userId == null ? "" : "user_id = :userId AND"))
+                .unwrap(NativeQuery.class)
+                .setParameter("afterXid", after.xid())
+                .setParameter("afterId", after.id())
+                .setParameter("horizon", horizon);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = (List<Object[]>) query
+                .addScalar("change_xid", Long.class)
+                .addScalar("id", Long.class)
+                .addScalar("user_id", Long.class)
+                .addScalar("todo_id", Long.class)
+                .addScalar("type", String.class)
+                .addScalar("payload", String.class)
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new TodoEventMessage(new TodoEventMessage.Position((Long) row[0], (Long) row[1]),
+                        (Long) row[2], (Long) row[3], (String) row[4], (String) row[5]))
+                .toList();
+    }
+
+    @Override
+    public TodoEventMessage.Position findLastPosition(Long horizon) {
+        if (horizon != null) {
+            return new TodoEventMessage.Position(horizon, 0L);
+        }
+        return new TodoEventMessage.Position(0L, entityManager.createQuery(SELECT_LAST_ID, Long.class).getSingleResult());
+    }
+}
@@ -0,0 +1,50 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.entity.TodoReminder;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TodoReminderRepository extends BaseRepository<TodoReminder, Long> {
+
+    /**
+     * Returns (id, due date) of open todos due in {@code (from, to]} that have no reminder
+     * of {@code kind} for their current due date, earliest first. The statuses are literals
+     * so PostgreSQL can answer from the partial open-todo index added in V8 without visiting
+     * the table, and the window keeps the scan away from far-future due dates.
+     */
+    @Query("""
+            select t.id, t.dueDate
+            from Todo t
+            where t.status in (com.victor_devv.todo_list.domain.entity.Todo.Status.PENDING,
+                               com.victor_devv.todo_list.domain.entity.Todo.Status.IN_PROGRESS)
+              and t.dueDate > :from and t.dueDate <= :to
+              and not exists (select 1 from TodoReminder r
+                              where r.todo.id = t.id and r.dueDate = t.dueDate and r.kind = :kind)
+            order by t.dueDate, t.id
+            """)
+    List<Object[]> findDueTodos(TodoReminder.Kind kind, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * Locks the oldest pending reminders, skipping any another node has already locked,
+     * so concurrent pollers claim disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("""
+            select r from TodoReminder r
+            where r.status = com.victor_devv.todo_list.domain.entity.TodoReminder.Status.PENDING
+            order by r.id
+            """)
+    List<TodoReminder> claimPending(Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.entity.TodoReminder;
+import com.victor_devv.todo_list.domain.entity.TodoReminderScan;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TodoReminderScanRepository extends BaseRepository<TodoReminderScan, TodoReminder.Kind> {
+
+    /**
+     * Locks the scan row of {@code kind}, or returns empty at once if another node holds it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("select s from TodoReminderScan s where s.kind = :kind")
+    Optional<TodoReminderScan> lockForScan(TodoReminder.Kind kind);
+}
@@ -1,23 +1,85 @@
 package com.victor_devv.todo_list.repository;
 
+import com.victor_devv.todo_list.domain.dto.TodoDto;
 import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.util.Constants;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TodoRepository extends BaseRepository<Todo, Long> {
+public interface TodoRepository extends BaseRepository<Todo, Long>, TodoRepositoryCustom {
+
+    /**
+     * Projects straight into {@link TodoDto}: the owner id is read from the foreign key
+     * and only the username is taken from the joined user, so no entities are loaded.
+     */
+    String SELECT_TODO_DTO = """
+            select new com.victor_devv.todo_list.domain.dto.TodoDto(
+                t.id, t.version, t.title, t.description, cast(t.priority as String), cast(t.status as String),
+                t.dueDate, t.completedAt, t.createdAt, t.updatedAt, t.user.id, u.username)
+            from Todo t join User u on u.id = t.user.id
+            """;
 
     @EntityGraph(attributePaths = {"user"})
     Optional<Todo> findById(Long id);
 
     @EntityGraph(attributePaths = {"user"})
-    Page<Todo> findByUserId(Long userId, Pageable pageable);
+    Optional<Todo> findByIdAndUserId(Long id, Long userId);
 
-    @EntityGraph(attributePaths = {"user"})
-    Page<Todo> findByUserIdAndStatus(Long userId, Todo.Status status, Pageable pageable);
+    List<Todo> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Constants.TODO_QUERY_CACHE_REGION)
+    })
+    @Query(SELECT_TODO_DTO + "where t.id = :id and t.user.id = :userId")
+    Optional<TodoDto> findDtoByIdAndUserId(Long id, Long userId);
+
+    /**
+     * The listing queries and their counts go through the query cache. Hibernate drops the
+     * cached results whenever the todos or users table is written through the session,
+     * bulk updates included; writes that bypass it must invalidate the todos table themselves.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Constants.TODO_QUERY_CACHE_REGION)
+    })
+    @Query(value = SELECT_TODO_DTO + "where t.user.id = :userId",
+            countQuery = "select count(t) from Todo t where t.user.id = :userId")
+    Page<TodoDto> findByUserId(Long userId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Constants.TODO_QUERY_CACHE_REGION)
+    })
+    @Query(value = SELECT_TODO_DTO + "where t.user.id = :userId and t.status = :status",
+            countQuery = "select count(t) from Todo t where t.user.id = :userId and t.status = :status")
+    Page<TodoDto> findByUserIdAndStatus(Long userId, Todo.Status status, Pageable pageable);
+
+    /**
+     * Streams every todo of the user in id order through a forward-only cursor, fetching
+     * {@link Constants#EXPORT_FETCH_SIZE} rows per round trip. Must be consumed and closed
+     * inside a transaction; PostgreSQL only honours the fetch size with autocommit off.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_TODO_DTO + "where t.user.id = :userId order by t.id")
+    Stream<TodoDto> streamByUserId(Long userId);
+
+    @Query("select t.version from Todo t where t.id = :id and t.user.id = :userId")
+    Optional<Integer> findVersionByIdAndUserId(Long id, Long userId);
 
 }
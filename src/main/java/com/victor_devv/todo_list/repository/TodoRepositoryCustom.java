@@ -0,0 +1,115 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.PageCursor;
+import com.victor_devv.todo_list.domain.dto.TodoChange;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoFilter;
+import com.victor_devv.todo_list.domain.dto.TodoSearchHit;
+import com.victor_devv.todo_list.domain.dto.TodoSort;
+import com.victor_devv.todo_list.domain.dto.TodoStats;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TodoRepositoryCustom {
+
+    /**
+     * Moves a single todo owned by the user to {@code status} in one statement, bumping its
+     * version, and returns the updated row. When {@code expectedVersion} is set, the todo is
+     * only updated if it still has that version. Only this todo is evicted from the
+     * second-level cache.
+     */
+    Optional<Todo> transitionStatus(Long id, Long userId, Integer expectedVersion, Todo.Status status, LocalDateTime now);
+
+    /**
+     * Deletes a single todo owned by the user in one statement. When {@code expectedVersion}
+     * is set, the todo is only deleted if it still has that version. Only this todo leaves
+     * the second-level cache.
+     *
+     * @return whether the todo was deleted
+     */
+    boolean deleteOwned(Long id, Long userId, Integer expectedVersion);
+
+    /**
+     * Moves every todo of the user matching the filter to {@code status} in one statement.
+     * Todos already in that status are left untouched.
+     *
+     * @return the number of updated todos
+     */
+    int transitionStatusMatching(Long userId, TodoFilter filter, Todo.Status status, LocalDateTime now);
+
+    /**
+     * Returns up to {@code limit} todos of the user following {@code after} in the given order,
+     * using a seek predicate on (sort key, id) instead of an offset. Null due dates sort last
+     * in ascending order, as PostgreSQL does.
+     */
+    List<TodoDto> findPageByUserId(Long userId, TodoSort sort, Sort.Direction direction, PageCursor after, int limit);
+
+    /**
+     * Returns the todos matching {@code spec} projected into {@link TodoDto}. The count
+     * query is skipped when the requested page is the last one.
+     */
+    Page<TodoDto> findAllDtos(Specification<Todo> spec, Pageable pageable);
+
+    /**
+     * Returns up to {@code limit} todos of the user whose title or description contains a word
+     * starting with each of {@code terms}, most relevant first, following {@code after}.
+     * Title matches rank above description matches. Terms must be lowercase letters and digits.
+     * Only PostgreSQL ranks with ts_rank; elsewhere the ranks are a rough stand-in, so which
+     * todos match and the order among them may differ slightly from production.
+     */
+    List<TodoSearchHit> search(Long userId, List<String> terms, PageCursor after, int limit);
+
+    /**
+     * Inserts new todos, each with its user set. On PostgreSQL the rows are sent in a single
+     * {@code COPY}, with ids reserved from the pooled sequence; elsewhere they are persisted
+     * in JDBC batches. The persistence context is cleared afterwards either way, so the
+     * todos come back detached.
+     */
+    void insertAll(List<Todo> todos);
+
+    /**
+     * Counts the user's todos by status and priority. On PostgreSQL the counts come from
+     * the user's {@code todo_user_stats} row, which the V7 triggers keep current; elsewhere
+     * they are grouped on the fly. Overdue todos change with the clock rather than with
+     * writes, so they are always counted, on the partial open-todo (user_id, due_date) index.
+     */
+    TodoStats findStats(Long userId, LocalDateTime now);
+
+    /**
+     * Recounts the user's todos into {@code todo_user_stats}, holding the user's row lock
+     * so concurrent writes are neither lost nor counted twice. Must run in a transaction.
+     *
+     * @return whether the stored counts had drifted; always false where counts are not stored
+     */
+    boolean reconcileStats(Long userId);
+
+    /**
+     * Returns the change horizon: every transaction below it has finished, so the changes
+     * written below it are final and no new change will ever appear there. It is the
+     * oldest transaction still running, which means one long transaction holds every sync
+     * back until it ends. Null where changes are not tracked.
+     */
+    Long findChangeHorizon();
+
+    /**
+     * Returns up to {@code limit} changes to the user's todos, in (transaction, id) order,
+     * following (afterXid, afterId) and written below {@code horizon}. Deletions come from
+     * the tombstones the V9 trigger records. Where changes are not tracked, the horizon and
+     * transactions are ignored and the user's current todos are returned in id order.
+     */
+    List<TodoChange> findChanges(Long userId, long afterXid, long afterId, long horizon, int limit);
+
+    /**
+     * Deletes tombstones of todos deleted before {@code deletedBefore}.
+     *
+     * @return the number of purged tombstones; always 0 where changes are not tracked
+     */
+    int purgeTombstones(LocalDateTime deletedBefore);
+}
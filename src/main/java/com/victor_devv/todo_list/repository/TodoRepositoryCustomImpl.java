@@ -0,0 +1,716 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.PageCursor;
+import com.victor_devv.todo_list.domain.dto.TodoChange;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoFilter;
+import com.victor_devv.todo_list.domain.dto.TodoSearchHit;
+import com.victor_devv.todo_list.domain.dto.TodoSort;
+import com.victor_devv.todo_list.domain.dto.TodoStats;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.criteria.JpaExpression;
+import org.postgresql.PGConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class TodoRepositoryCustomImpl implements TodoRepositoryCustom {
+
+    private static final String TRANSITION_STATUS = """
+            UPDATE todos
+            SET status = :status,
+                completed_at = CASE WHEN :status = 'COMPLETED' THEN :now ELSE completed_at END,
+                version = version + 1,
+                updated_at = :now
+            WHERE id = :id AND user_id = :userId %s""";
+
+    private static final String DELETE_OWNED = "DELETE FROM todos WHERE id = :id AND user_id = :userId %s";
+
+    private static final String VERSION_CONDITION = "AND version = :version";
+
+    private static final String SEARCH_COLUMNS = """
+            t.id, t.version, t.title, t.description, t.priority, t.status, t.due_date, t.completed_at,
+            t.created_at, t.updated_at, t.user_id, u.username""";
+
+    private static final String SEARCH_TSQUERY = """
+            SELECT * FROM (
+                SELECT %s,
+                       ts_rank(t.search_vector, to_tsquery('simple', :query)) AS search_rank
+                FROM todos t
+                JOIN users u ON u.id = t.user_id
+                WHERE t.user_id = :userId
+                  AND t.search_vector @@ to_tsquery('simple', :query)
+            ) hits
+            %s
+            ORDER BY search_rank DESC, id DESC
+            """;
+
+    /**
+     * Portable approximation of {@link #SEARCH_TSQUERY}, for H2: a term matches a word of
+     * the title or description that starts with it, and ranks a fixed 1.0 in the title and
+     * 0.4 in the description. Only the coarse order agrees with PostgreSQL, title matches
+     * above description-only ones. ts_rank also weighs how often and how close together the
+     * terms occur, so ranks and the order among matches differ, and the 'simple' parser
+     * splits words differently from the regular expression around hyphens, emails and URLs,
+     * so a few todos match on one and not the other.
+     */
+    private static final String SEARCH_REGEXP = """
+            SELECT * FROM (
+                SELECT %s,
+                       CAST(%s AS REAL) AS search_rank
+                FROM todos t
+                JOIN users u ON u.id = t.user_id
+                WHERE t.user_id = :userId
+                  AND %s
+            ) hits
+            %s
+            ORDER BY search_rank DESC, id DESC
+            """;
+
+    private static final String SEARCH_SEEK =
+            "WHERE search_rank < :rank OR (search_rank = :rank AND id < :lastId)";
+
+    private static final String COPY_TODOS = """
+            COPY todos (id, version, title, description, priority, status, due_date, completed_at,
+                        user_id, created_at, updated_at)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String RESERVE_TODO_IDS =
+            "SELECT nextval('todos_id_seq') FROM generate_series(1, :blocks)";
+
+    /**
+     * Status columns, then priority columns, each in enum order.
+     */
+    private static final String SELECT_USER_STATS = """
+            SELECT pending, in_progress, completed, cancelled, low, medium, high, urgent
+            FROM todo_user_stats
+            WHERE user_id = :userId
+            """;
+
+    private static final String LOCK_USER_STATS =
+            "SELECT user_id FROM todo_user_stats WHERE user_id = :userId FOR UPDATE";
+
+    /**
+     * Overwrites the user's counters with a fresh count, only touching the row when they
+     * differ. Users with neither todos nor a stats row are left without one.
+     */
+    private static final String RECOUNT_USER_STATS = """
+            INSERT INTO todo_user_stats AS s (user_id, pending, in_progress, completed, cancelled, low, medium, high, urgent)
+            SELECT :userId,
+                   COUNT(*) FILTER (WHERE status = 'PENDING'),
+                   COUNT(*) FILTER (WHERE status = 'IN_PROGRESS'),
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED'),
+                   COUNT(*) FILTER (WHERE status = 'CANCELLED'),
+                   COUNT(*) FILTER (WHERE priority = 'LOW'),
+                   COUNT(*) FILTER (WHERE priority = 'MEDIUM'),
+                   COUNT(*) FILTER (WHERE priority = 'HIGH'),
+                   COUNT(*) FILTER (WHERE priority = 'URGENT')
+            FROM todos
+            WHERE user_id = :userId
+            HAVING COUNT(*) > 0 OR EXISTS (SELECT 1 FROM todo_user_stats WHERE user_id = :userId)
+            ON CONFLICT (user_id) DO UPDATE SET
+                pending = EXCLUDED.pending,
+                in_progress = EXCLUDED.in_progress,
+                completed = EXCLUDED.completed,
+                cancelled = EXCLUDED.cancelled,
+                low = EXCLUDED.low,
+                medium = EXCLUDED.medium,
+                high = EXCLUDED.high,
+                urgent = EXCLUDED.urgent
+            WHERE (s.pending, s.in_progress, s.completed, s.cancelled, s.low, s.medium, s.high, s.urgent)
+                IS DISTINCT FROM (EXCLUDED.pending, EXCLUDED.in_progress, EXCLUDED.completed, EXCLUDED.cancelled,
+                                  EXCLUDED.low, EXCLUDED.medium, EXCLUDED.high, EXCLUDED.urgent)
+            """;
+
+    private static final String CHANGE_HORIZON =
+            "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)";
+
+    /**
+     * Takes the first {@code limit} changes from the todos and the tombstones, each read
+     * off its (user_id, change_xid, id) index, then joins in the todos that still exist.
+     */
+    private static final String SELECT_CHANGES = """
+            SELECT CAST(CAST(c.change_xid AS TEXT) AS BIGINT) AS change_xid, c.id,
+                   t.version, t.title, t.description, t.priority, t.status, t.due_date, t.completed_at,
+                   t.created_at, t.updated_at, t.user_id, u.username
+            FROM (
+                (SELECT change_xid, id
+                 FROM todos
+                 WHERE user_id = :userId
+                   AND (change_xid, id) > (CAST(CAST(:afterXid AS TEXT) AS xid8), :afterId)
+                   AND change_xid < CAST(CAST(:horizon AS TEXT) AS xid8)
+                 ORDER BY change_xid, id
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT change_xid, todo_id
+                 FROM todo_tombstones
+                 WHERE user_id = :userId
+                   AND (change_xid, todo_id) > (CAST(CAST(:afterXid AS TEXT) AS xid8), :afterId)
+                   AND change_xid < CAST(CAST(:horizon AS TEXT) AS xid8)
+                 ORDER BY change_xid, todo_id
+                 LIMIT :limit)
+                ORDER BY change_xid, id
+                LIMIT :limit
+            ) c
+            LEFT JOIN todos t ON t.id = c.id
+            LEFT JOIN users u ON u.id = t.user_id
+            ORDER BY c.change_xid, c.id
+            """;
+
+    private static final String PURGE_TOMBSTONES = "DELETE FROM todo_tombstones WHERE deleted_at < :before";
+
+    private static final String COUNT_BY_STATUS_AND_PRIORITY = """
+            select t.status, t.priority, count(t)
+            from Todo t
+            where t.user.id = :userId
+            group by t.status, t.priority
+            """;
+
+    /**
+     * The statuses are literals, as in {@link TodoReminderRepository#findDueTodos}, so even
+     * a generic plan for the prepared statement can use the partial open-todo index of V5.
+     */
+    private static final String COUNT_OVERDUE = """
+            select count(t)
+            from Todo t
+            where t.user.id = :userId
+              and t.status in (com.victor_devv.todo_list.domain.entity.Todo.Status.PENDING,
+                               com.victor_devv.todo_list.domain.entity.Todo.Status.IN_PROGRESS)
+              and t.dueDate < :now
+            """;
+
+    /**
+     * Ids Hibernate's pooled optimizer takes from one sequence value, matching the
+     * sequence increment set in V4: value {@code v} stands for ids {@code v - 49 .. v}.
+     */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String[] TODO_TABLES = {"todos"};
+
+    private static final String USER_STATS_TABLE = "todo_user_stats";
+
+    private static final String TOMBSTONES_TABLE = "todo_tombstones";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Boolean postgres;
+
+    @Override
+    public Optional<Todo> transitionStatus(Long id, Long userId, Integer expectedVersion, Todo.Status status, LocalDateTime now) {
+        String update = TRANSITION_STATUS.formatted(expectedVersion == null ? "" : VERSION_CONDITION);
+        Query query = entityManager.createNativeQuery(
+                        isPostgres() ? update + " RETURNING *" : "SELECT * FROM FINAL TABLE (" + update + ")",
+                        Todo.class)
+                .setParameter("status", status.name())
+                .setParameter("now", now);
+        @SuppressWarnings("unchecked")
+        List<Todo> updated = ownedBy(query, id, userId, expectedVersion).getResultList();
+        if (!updated.isEmpty()) {
+            invalidateCaches(List.of(id));
+        }
+        return updated.stream().findFirst();
+    }
+
+    @Override
+    public boolean deleteOwned(Long id, Long userId, Integer expectedVersion) {
+        String delete = DELETE_OWNED.formatted(expectedVersion == null ? "" : VERSION_CONDITION);
+        Query query = entityManager.createNativeQuery(
+                isPostgres() ? delete + " RETURNING id" : "SELECT id FROM OLD TABLE (" + delete + ")");
+        boolean deleted = !ownedBy(query, id, userId, expectedVersion).getResultList().isEmpty();
+        if (deleted) {
+            invalidateCaches(List.of(id));
+        }
+        return deleted;
+    }
+
+    @Override
+    public int transitionStatusMatching(Long userId, TodoFilter filter, Todo.Status status, LocalDateTime now) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Todo> update = statusUpdate(cb, status, now);
+        Root<Todo> root = update.getRoot();
+
+        update.where(
+                TodoSpecifications.matching(userId, filter).toPredicate(root, null, cb),
+                cb.notEqual(root.get("status"), status)
+        );
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<TodoDto> findPageByUserId(Long userId, TodoSort sort, Sort.Direction direction, PageCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoDto> query = cb.createQuery(TodoDto.class);
+        Root<Todo> root = query.from(Todo.class);
+        Expression<Comparable<Object>> key = root.get(sort.getAttribute());
+        Expression<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("user").get("id"), userId));
+        if (after != null) {
+            predicates.add(seek(cb, key, id, direction, parseKey(sort, after.value()), after.id()));
+        }
+
+        query.select(todoDto(cb, root))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(direction.isAscending()
+                        ? List.of(cb.asc(key), cb.asc(id))
+                        : List.of(cb.desc(key), cb.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Page<TodoDto> findAllDtos(Specification<Todo> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoDto> query = cb.createQuery(TodoDto.class);
+        Root<Todo> root = query.from(Todo.class);
+        query.select(todoDto(cb, root))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<TodoDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Todo> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Todo> root = query.from(Todo.class);
+        query.select(cb.count(root)).where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<TodoSearchHit> search(Long userId, List<String> terms, PageCursor after, int limit) {
+        String seek = after == null ? "" : SEARCH_SEEK;
+        NativeQuery<?> query;
+        if (isPostgres()) {
+            query = entityManager.createNativeQuery(SEARCH_TSQUERY.formatted(SEARCH_COLUMNS, seek))
+                    .unwrap(NativeQuery.class)
+                    .setParameter("query", String.join(" & ", terms.stream().map(term -> term + ":*").toList()));
+        } else {
+            List<String> rank = new ArrayList<>();
+            List<String> match = new ArrayList<>();
+            for (int i = 0; i < terms.size(); i++) {
+                String title = "REGEXP_LIKE(LOWER(t.title), :term" + i + ")";
+                String description = "REGEXP_LIKE(LOWER(COALESCE(t.description, '')), :term" + i + ")";
+                rank.add("CASE WHEN " + title + " THEN 1.0 ELSE 0 END + CASE WHEN " + description + " THEN 0.4 ELSE 0 END");
+                match.add("(" + title + " OR " + description + ")");
+            }
+            query = entityManager.createNativeQuery(SEARCH_REGEXP.formatted(
+                            SEARCH_COLUMNS, String.join(" + ", rank), String.join(" AND ", match), seek))
+                    .unwrap(NativeQuery.class);
+            for (int i = 0; i < terms.size(); i++) {
+                query.setParameter("term" + i, "(^|[^\\p{L}\\p{N}])" + terms.get(i));
+            }
+        }
+        query.setParameter("userId", userId);
+        if (after != null) {
+            query.setParameter("rank", Float.valueOf(after.value()))
+                    .setParameter("lastId", after.id());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = (List<Object[]>) query
+                .addScalar("id", Long.class)
+                .addScalar("version", Integer.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("status", String.class)
+                .addScalar("due_date", LocalDateTime.class)
+                .addScalar("completed_at", LocalDateTime.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("user_id", Long.class)
+                .addScalar("username", String.class)
+                .addScalar("search_rank", Float.class)
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new TodoSearchHit(new TodoDto(
+                        (Long) row[0], (Integer) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5],
+                        (LocalDateTime) row[6], (LocalDateTime) row[7], (LocalDateTime) row[8], (LocalDateTime) row[9],
+                        (Long) row[10], (String) row[11]),
+                        (Float) row[12]))
+                .toList();
+    }
+
+    @Override
+    public void insertAll(List<Todo> todos) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        if (isPostgres()) {
+            copy(todos);
+        } else {
+            todos.forEach(entityManager::persist);
+            entityManager.flush();
+        }
+        entityManager.clear();
+    }
+
+    @Override
+    public TodoStats findStats(Long userId, LocalDateTime now) {
+        Todo.Status[] statuses = Todo.Status.values();
+        Todo.Priority[] priorities = Todo.Priority.values();
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        for (Todo.Status status : statuses) {
+            byStatus.put(status.name(), 0L);
+        }
+        for (Todo.Priority priority : priorities) {
+            byPriority.put(priority.name(), 0L);
+        }
+
+        if (isPostgres()) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = entityManager.createNativeQuery(SELECT_USER_STATS)
+                    .setParameter("userId", userId)
+                    .getResultList();
+            for (Object[] row : rows) {
+                for (int i = 0; i < statuses.length; i++) {
+                    byStatus.put(statuses[i].name(), ((Number) row[i]).longValue());
+                }
+                for (int i = 0; i < priorities.length; i++) {
+                    byPriority.put(priorities[i].name(), ((Number) row[statuses.length + i]).longValue());
+                }
+            }
+        } else {
+            List<Object[]> rows = entityManager.createQuery(COUNT_BY_STATUS_AND_PRIORITY, Object[].class)
+                    .setParameter("userId", userId)
+                    .getResultList();
+            for (Object[] row : rows) {
+                long count = (Long) row[2];
+                byStatus.merge(((Todo.Status) row[0]).name(), count, Long::sum);
+                byPriority.merge(((Todo.Priority) row[1]).name(), count, Long::sum);
+            }
+        }
+
+        long overdue = entityManager.createQuery(COUNT_OVERDUE, Long.class)
+                .setParameter("userId", userId)
+                .setParameter("now", now)
+                .getSingleResult();
+        return TodoStats.builder()
+                .total(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .overdue(overdue)
+                .build();
+    }
+
+    @Override
+    public boolean reconcileStats(Long userId) {
+        if (!isPostgres()) {
+            return false;
+        }
+        // Locked in its own statement, so the recount below takes its snapshot after any
+        // writer that held the lock has committed.
+        entityManager.createNativeQuery(LOCK_USER_STATS)
+                .setParameter("userId", userId)
+                .getResultList();
+        int changed = entityManager.createNativeQuery(RECOUNT_USER_STATS)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(USER_STATS_TABLE)
+                .setParameter("userId", userId)
+                .executeUpdate();
+        return changed > 0;
+    }
+
+    @Override
+    public Long findChangeHorizon() {
+        if (!isPostgres()) {
+            return null;
+        }
+        return ((Number) entityManager.createNativeQuery(CHANGE_HORIZON).getSingleResult()).longValue();
+    }
+
+    @Override
+    public List<TodoChange> findChanges(Long userId, long afterXid, long afterId, long horizon, int limit) {
+        if (!isPostgres()) {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<TodoDto> query = cb.createQuery(TodoDto.class);
+            Root<Todo> root = query.from(Todo.class);
+            query.select(todoDto(cb, root))
+                    .where(cb.equal(root.get("user").get("id"), userId), cb.greaterThan(root.<Long>get("id"), afterId))
+                    .orderBy(cb.asc(root.get("id")));
+            return entityManager.createQuery(query)
+                    .setMaxResults(limit)
+                    .getResultStream()
+                    .map(todo -> new TodoChange(0L, todo.getId(), todo))
+                    .toList();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = (List<Object[]>) entityManager.createNativeQuery(SELECT_CHANGES)
+                .unwrap(NativeQuery.class)
+                .setParameter("userId", userId)
+                .setParameter("afterXid", afterXid)
+                .setParameter("afterId", afterId)
+                .setParameter("horizon", horizon)
+                .setParameter("limit", limit)
+                .addScalar("change_xid", Long.class)
+                .addScalar("id", Long.class)
+                .addScalar("version", Integer.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("status", String.class)
+                .addScalar("due_date", LocalDateTime.class)
+                .addScalar("completed_at", LocalDateTime.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("user_id", Long.class)
+                .addScalar("username", String.class)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new TodoChange((Long) row[0], (Long) row[1], row[2] == null ? null : new TodoDto(
+                        (Long) row[1], (Integer) row[2], (String) row[3], (String) row[4], (String) row[5], (String) row[6],
+                        (LocalDateTime) row[7], (LocalDateTime) row[8], (LocalDateTime) row[9], (LocalDateTime) row[10],
+                        (Long) row[11], (String) row[12])))
+                .toList();
+    }
+
+    @Override
+    public int purgeTombstones(LocalDateTime deletedBefore) {
+        if (!isPostgres()) {
+            return 0;
+        }
+        return entityManager.createNativeQuery(PURGE_TOMBSTONES)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(TOMBSTONES_TABLE)
+                .setParameter("before", deletedBefore)
+                .executeUpdate();
+    }
+
+    private void copy(List<Todo> todos) {
+        List<Long> ids = reserveIds(todos.size());
+        LocalDateTime now = LocalDateTime.now();
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < todos.size(); i++) {
+            Todo todo = todos.get(i);
+            todo.setId(ids.get(i));
+            todo.setVersion(0);
+            todo.setCreatedAt(now);
+            todo.setUpdatedAt(now);
+            rows.append(todo.getId()).append(',')
+                    .append(todo.getVersion()).append(',')
+                    .append(copyField(todo.getTitle())).append(',')
+                    .append(copyField(todo.getDescription())).append(',')
+                    .append(todo.getPriority().name()).append(',')
+                    .append(todo.getStatus().name()).append(',')
+                    .append(copyField(todo.getDueDate())).append(',')
+                    .append(copyField(todo.getCompletedAt())).append(',')
+                    .append(todo.getUser().getId()).append(',')
+                    .append(copyField(todo.getCreatedAt())).append(',')
+                    .append(copyField(todo.getUpdatedAt())).append('\n');
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_TODOS, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new SQLException("could not copy todos", e);
+            }
+        });
+        // New ids, so nothing is cached under them; only the todo queries go stale.
+        invalidateCaches(List.of());
+    }
+
+    /**
+     * Hibernate only invalidates cached todos and todo queries for writes it recognises as
+     * such. The single-row writes run as selects of the rows they wrote (RETURNING on
+     * PostgreSQL, a data change delta table on H2) and COPY bypasses the session entirely,
+     * so all of them do what a flushed entity write would: mark the todos table as changed,
+     * which retires cached todo queries, and evict the written todos, again once the
+     * transaction has completed in case a concurrent read put them back. Unlike the cleanup
+     * after a bulk statement, the rest of the todo region stays cached.
+     */
+    private void invalidateCaches(Collection<Long> ids) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        CacheImplementor cache = session.getFactory().getCache();
+        TimestampsCache timestamps = cache.getTimestampsCache();
+        timestamps.preInvalidate(TODO_TABLES, session);
+        ids.forEach(id -> cache.evictEntityData(Todo.class, id));
+        session.getActionQueue().registerProcess((success, completed) -> {
+            ids.forEach(id -> cache.evictEntityData(Todo.class, id));
+            timestamps.invalidate(TODO_TABLES, completed);
+        });
+    }
+
+    private static Query ownedBy(Query query, Long id, Long userId, Integer expectedVersion) {
+        query.setParameter("id", id).setParameter("userId", userId);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query;
+    }
+
+    /**
+     * Draws enough values from the todo sequence to cover {@code count} ids, taking
+     * whole blocks the way Hibernate does so the two never hand out the same id.
+     */
+    private List<Long> reserveIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+            @SuppressWarnings("unchecked")
+            List<Number> values = entityManager.createNativeQuery(RESERVE_TODO_IDS)
+                    .setParameter("blocks", blocks)
+                    .getResultList();
+            for (Number value : values) {
+                // The sequence's first value, 1, only covers the ids below it that are positive.
+                for (long id = Math.max(1, value.longValue() - ID_BLOCK_SIZE + 1); id <= value.longValue(); id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Quotes every non-null value, since an unquoted empty field is read as null by COPY.
+     */
+    private static String copyField(String value) {
+        return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String copyField(LocalDateTime value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Same projection as {@link TodoRepository#SELECT_TODO_DTO}.
+     */
+    private static CompoundSelection<TodoDto> todoDto(CriteriaBuilder cb, Root<Todo> root) {
+        Join<Todo, User> user = root.join("user");
+        return cb.construct(TodoDto.class,
+                root.get("id"),
+                root.get("version"),
+                root.get("title"),
+                root.get("description"),
+                ((JpaExpression<?>) root.get("priority")).cast(String.class),
+                ((JpaExpression<?>) root.get("status")).cast(String.class),
+                root.get("dueDate"),
+                root.get("completedAt"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("user").get("id"),
+                user.get("username"));
+    }
+
+    /**
+     * Builds the predicate selecting rows strictly after (value, lastId). Nulls are treated
+     * as greater than any value, matching the database's default null ordering.
+     */
+    private static Predicate seek(
+            CriteriaBuilder cb,
+            Expression<Comparable<Object>> key,
+            Expression<Long> id,
+            Sort.Direction direction,
+            Comparable<Object> value,
+            Long lastId
+    ) {
+        if (direction.isAscending()) {
+            if (value == null) {
+                return cb.and(cb.isNull(key), cb.greaterThan(id, lastId));
+            }
+            return cb.or(
+                    cb.greaterThan(key, value),
+                    cb.and(cb.equal(key, value), cb.greaterThan(id, lastId)),
+                    cb.isNull(key)
+            );
+        }
+        if (value == null) {
+            return cb.or(
+                    cb.and(cb.isNull(key), cb.lessThan(id, lastId)),
+                    cb.isNotNull(key)
+            );
+        }
+        return cb.or(
+                cb.lessThan(key, value),
+                cb.and(cb.equal(key, value), cb.lessThan(id, lastId))
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parseKey(TodoSort sort, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            Comparable<?> key = switch (sort) {
+                case CREATED_AT, DUE_DATE -> LocalDateTime.parse(value);
+                case PRIORITY -> Todo.Priority.valueOf(value).ordinal();
+            };
+            return (Comparable<Object>) key;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+
+    private static CriteriaUpdate<Todo> statusUpdate(CriteriaBuilder cb, Todo.Status status, LocalDateTime now) {
+        CriteriaUpdate<Todo> update = cb.createCriteriaUpdate(Todo.class);
+        Root<Todo> root = update.from(Todo.class);
+        update.set(root.get("status"), status);
+        update.set(root.<Integer>get("version"), cb.sum(root.get("version"), 1));
+        update.set(root.get("updatedAt"), now);
+        if (status == Todo.Status.COMPLETED) {
+            update.set(root.get("completedAt"), now);
+        }
+        return update;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+}
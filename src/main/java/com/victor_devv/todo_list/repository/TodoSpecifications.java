@@ -0,0 +1,54 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.TodoFilter;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TodoSpecifications {
+
+    private TodoSpecifications() {
+    }
+
+    /**
+     * Todos owned by {@code userId} that match every criterion set on {@code filter}.
+     * Status and priority are parsed eagerly, so an unknown value fails here with an
+     * {@link IllegalArgumentException} rather than inside query execution.
+     */
+    public static Specification<Todo> matching(Long userId, TodoFilter filter) {
+        List<Long> ids = filter == null ? null : filter.getIds();
+        Todo.Status status = filter == null || filter.getStatus() == null
+                ? null
+                : Todo.Status.valueOf(filter.getStatus());
+        Todo.Priority priority = filter == null || filter.getPriority() == null
+                ? null
+                : Todo.Priority.valueOf(filter.getPriority());
+        LocalDateTime dueFrom = filter == null ? null : filter.getDueFrom();
+        LocalDateTime dueTo = filter == null ? null : filter.getDueTo();
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (ids != null && !ids.isEmpty()) {
+                predicates.add(root.get("id").in(ids));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (priority != null) {
+                predicates.add(cb.equal(root.get("priority"), priority));
+            }
+            if (dueFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), dueFrom));
+            }
+            if (dueTo != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), dueTo));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,18 +1,30 @@
 package com.victor_devv.todo_list.repository;
 
 import com.victor_devv.todo_list.domain.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends BaseRepository<User, Long> {
+public interface UserRepository extends BaseRepository<User, Long>, UserRepositoryCustom {
 
     Optional<User> findByUsername(String username);
 
-    Optional<User> findByEmail(String email);
+    @Query("select u.email from User u where u.id = :id")
+    Optional<String> findEmailById(Long id);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select u.id from User u where u.id > :id order by u.id")
+    List<Long> findIdsGreaterThan(Long id, Pageable pageable);
 
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    boolean existsByUsernameOrEmail(String username, String email);
 }
@@ -0,0 +1,14 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Loads the user by their email, the natural id, so repeat lookups are answered from
+     * the second-level cache instead of querying the users table.
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,13 @@
+package com.victor_devv.todo_list.service;
+
+import com.victor_devv.todo_list.domain.dto.TodoReminderNotification;
+
+/**
+ * Delivers due-date reminders, for example as an e-mail or a push notification.
+ * A reminder whose delivery throws is retried on later polls, up to
+ * {@code application.reminders.max-attempts} times.
+ */
+public interface ReminderSink {
+
+    void send(TodoReminderNotification notification);
+}
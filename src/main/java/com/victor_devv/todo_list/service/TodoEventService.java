@@ -0,0 +1,12 @@
+package com.victor_devv.todo_list.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TodoEventService {
+
+    /**
+     * Opens a stream of the user's todo events as they commit. With a
+     * {@code lastEventId}, the events after it are replayed first.
+     */
+    SseEmitter subscribe(Long userId, String lastEventId);
+}
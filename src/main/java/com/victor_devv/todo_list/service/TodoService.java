@@ -1,22 +1,59 @@
 package com.victor_devv.todo_list.service;
 
+import com.victor_devv.todo_list.domain.dto.CursorPage;
+import com.victor_devv.todo_list.domain.dto.TodoBatchOperation;
+import com.victor_devv.todo_list.domain.dto.TodoBatchResult;
+import com.victor_devv.todo_list.domain.dto.TodoChanges;
 import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoExportFormat;
+import com.victor_devv.todo_list.domain.dto.TodoFilter;
+import com.victor_devv.todo_list.domain.dto.TodoImportResult;
 import com.victor_devv.todo_list.domain.dto.TodoRequest;
+import com.victor_devv.todo_list.domain.dto.TodoSort;
+import com.victor_devv.todo_list.domain.dto.TodoStats;
+import com.victor_devv.todo_list.domain.dto.TodoStatusTransitionRequest;
+import com.victor_devv.todo_list.domain.dto.TodoStatusTransitionResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
 
 public interface TodoService {
 
-    TodoDto findById(Long id);
+    TodoDto findById(Long id, Long userId);
+
+    Integer findVersion(Long id, Long userId);
 
     Page<TodoDto> findAllByUserId(Long userId, Pageable pageable);
 
+    Page<TodoDto> findAllByUserId(Long userId, TodoFilter filter, Pageable pageable);
+
+    CursorPage<TodoDto> scrollByUserId(Long userId, TodoSort sort, Sort.Direction direction, String cursor, int size);
+
+    CursorPage<TodoDto> search(Long userId, String query, String cursor, int size);
+
+    TodoStats getStats(Long userId);
+
+    TodoChanges findChanges(Long userId, String since, int size);
+
+    void export(Long userId, TodoExportFormat format, OutputStream out) throws IOException;
+
+    TodoImportResult importTodos(Long userId, InputStream in) throws IOException;
+
     TodoDto create(String username, TodoRequest request);
 
-    TodoDto update(Long id, TodoRequest request);
+    TodoDto update(Long id, Long userId, Integer expectedVersion, TodoRequest request);
+
+    void delete(Long id, Long userId, Integer expectedVersion);
+
+    TodoDto markAsCompleted(Long id, Long userId, Integer expectedVersion);
 
-    void delete(Long id);
+    TodoStatusTransitionResult transitionStatus(Long userId, TodoStatusTransitionRequest request);
 
-    TodoDto markAsCompleted(Long id);
+    List<TodoBatchResult> batch(Long userId, List<TodoBatchOperation> operations);
 
 }
@@ -0,0 +1,23 @@
+package com.victor_devv.todo_list.service;
+
+import com.victor_devv.todo_list.domain.dto.LoginResponse;
+import com.victor_devv.todo_list.domain.entity.User;
+
+public interface TokenService {
+
+    /**
+     * Issues an access token and a refresh token starting a new family.
+     */
+    LoginResponse issue(User user);
+
+    /**
+     * Exchanges a refresh token for a new pair in the same family. A token that was
+     * already exchanged revokes its whole family, access tokens included.
+     */
+    LoginResponse refresh(String refreshToken);
+
+    /**
+     * Revokes the family of the refresh token, access tokens included.
+     */
+    void revoke(String refreshToken);
+}
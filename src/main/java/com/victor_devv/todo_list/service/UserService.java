@@ -1,5 +1,6 @@
 package com.victor_devv.todo_list.service;
 
+import com.victor_devv.todo_list.domain.dto.CursorPage;
 import com.victor_devv.todo_list.domain.dto.LoginRequest;
 import com.victor_devv.todo_list.domain.dto.UserDto;
 import com.victor_devv.todo_list.domain.dto.LoginResponse;
@@ -13,6 +14,8 @@ public interface UserService {
 
     Page<UserDto> findAll(Pageable pageable);
 
+    CursorPage<UserDto> scroll(String cursor, int size);
+
     LoginResponse create(UserRequest userDto);
 
     LoginResponse authenticate(LoginRequest request);
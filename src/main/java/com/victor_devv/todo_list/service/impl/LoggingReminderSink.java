@@ -0,0 +1,20 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.domain.dto.TodoReminderNotification;
+import com.victor_devv.todo_list.service.ReminderSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stands in for a real notification channel by logging each reminder.
+ */
+@Slf4j
+@Component
+public class LoggingReminderSink implements ReminderSink {
+
+    @Override
+    public void send(TodoReminderNotification notification) {
+        log.info("reminder {} for todo with id: {} of user with id: {}, due {}",
+                notification.kind(), notification.todoId(), notification.userId(), notification.dueDate());
+    }
+}
@@ -0,0 +1,31 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically drops refresh tokens that have expired along with the access token issued
+ * with them. Neither can be presented any more, and the revocation poll only reads rows
+ * whose access token is still valid.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPurger {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${application.security.jwt.refresh-token.purge-cron:0 30 4 * * *}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now();
+        Integer purged = transactionTemplate.execute(status -> refreshTokenRepository.deleteExpiredBefore(before));
+        log.info("purged {} refresh tokens expired before {}", purged, before);
+    }
+}
@@ -0,0 +1,60 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.entity.TodoEvent;
+import com.victor_devv.todo_list.repository.TodoEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Appends todo events to the outbox. Only callable inside the transaction making the
+ * change, so an event is stored if and only if its change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoEventOutbox {
+
+    private final TodoEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TodoEvent.Type type, TodoDto todo) {
+        append(todo.getUserId(), todo.getId(), type, todo);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendDeleted(Long userId, Long todoId) {
+        append(userId, todoId, TodoEvent.Type.DELETED, Map.of("id", todoId));
+    }
+
+    /**
+     * Records that {@code count} todos of the user changed at once.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendSync(Long userId, int count) {
+        append(userId, null, TodoEvent.Type.SYNC, Map.of("count", count));
+    }
+
+    private void append(Long userId, Long todoId, TodoEvent.Type type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("could not serialize " + type + " event", e);
+        }
+        eventRepository.save(TodoEvent.builder()
+                .userId(userId)
+                .todoId(todoId)
+                .type(type)
+                .payload(json)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
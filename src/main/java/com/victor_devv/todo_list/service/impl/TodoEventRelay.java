@@ -0,0 +1,247 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.config.TodoEventProperties;
+import com.victor_devv.todo_list.domain.dto.TodoEventMessage;
+import com.victor_devv.todo_list.domain.entity.TodoEvent;
+import com.victor_devv.todo_list.repository.TodoEventRepository;
+import com.victor_devv.todo_list.repository.TodoRepository;
+import com.victor_devv.todo_list.service.TodoEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relays committed outbox events to the event streams open on this node. Every node
+ * reads the whole outbox in stream order and hands each event to its own subscribers of
+ * the event's user, so a change made through any node reaches the streams on all of them.
+ * <p>
+ * A stream costs no thread while idle: each subscriber has a queue that a virtual thread
+ * drains only while it holds events, so one slow client never holds up the others. A
+ * subscriber whose queue overflows is disconnected and catches up from the outbox when
+ * it reconnects with {@code Last-Event-ID}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodoEventRelay implements TodoEventService, SmartInitializingSingleton, DisposableBean {
+
+    private static final String HEARTBEAT = "keep-alive";
+
+    private final TodoEventRepository eventRepository;
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoEventProperties properties;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // The last event read. Only touched by poll() once the relay has started.
+    private TodoEventMessage.Position position;
+
+    /**
+     * Starts the relay at the end of the outbox before the web server takes requests, so
+     * every subscriber's replay reaches as far as the relay has read.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        position = transactionTemplate.execute(status ->
+                eventRepository.findLastPosition(todoRepository.findChangeHorizon()));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        TodoEventMessage.Position resumeAfter = lastEventId == null ? null : TodoEventMessage.Position.decode(lastEventId);
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(properties.getStreamTimeout().toMillis()));
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        // The replay is queued ahead of any live event, but only reads the outbox once the
+        // subscriber is registered, so no event can fall between the two.
+        if (resumeAfter != null) {
+            subscriber.submit(() -> subscriber.replay(resumeAfter));
+        }
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> registered = set == null ? ConcurrentHashMap.newKeySet() : set;
+            registered.add(subscriber);
+            return registered;
+        });
+        subscriber.start();
+        return subscriber.emitter;
+    }
+
+    /**
+     * Reads the events committed since the last poll and hands them to their subscribers.
+     * Keeps reading while no one is subscribed, for the same reason it starts early.
+     */
+    @Scheduled(fixedDelayString = "${application.todos.events.poll-interval:250ms}")
+    public void poll() {
+        List<TodoEventMessage> events;
+        do {
+            events = transactionTemplate.execute(status -> eventRepository.findAfter(
+                    null, position, todoRepository.findChangeHorizon(), properties.getBatchSize()));
+            for (TodoEventMessage event : events) {
+                Set<Subscriber> recipients = subscribers.get(event.userId());
+                if (recipients != null) {
+                    recipients.forEach(subscriber -> subscriber.offer(event));
+                }
+                position = event.position();
+            }
+        } while (events.size() == properties.getBatchSize());
+    }
+
+    @Scheduled(fixedDelayString = "${application.todos.events.heartbeat-interval:30s}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.submit(subscriber::sendHeartbeat)));
+    }
+
+    @Scheduled(cron = "${application.todos.events.purge-cron:0 15 4 * * *}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        Integer purged = transactionTemplate.execute(status -> eventRepository.deleteCreatedBefore(before));
+        log.info("purged {} todo events older than {}", purged, before);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        // Held from creation until start(), so queued tasks wait for the registration.
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Only touched by the task being drained. Events at or before it were already sent.
+        private TodoEventMessage.Position sent;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(TodoEventMessage event) {
+            if (queued.get() >= properties.getSubscriberQueueCapacity()) {
+                log.warn("disconnecting a todo event stream of user with id {} that fell behind", userId);
+                emitter.complete();
+                close();
+                return;
+            }
+            submit(() -> send(event));
+        }
+
+        void submit(Runnable task) {
+            if (closed.get()) {
+                return;
+            }
+            queued.incrementAndGet();
+            tasks.add(task);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void start() {
+            senders.execute(this::drain);
+        }
+
+        /**
+         * Runs the queued tasks in order, one drain at a time. A task queued just as the
+         * drain finishes starts a new one.
+         */
+        private void drain() {
+            do {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (!closed.get()) {
+                        task.run();
+                    }
+                }
+                draining.set(false);
+            } while (!tasks.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        /**
+         * Sends the user's events after {@code after} from the outbox, up to the current
+         * horizon. Live events the relay queued meanwhile follow, minus those already sent.
+         * When the event to resume after has been purged, the client is told to sync instead.
+         */
+        void replay(TodoEventMessage.Position after) {
+            Long horizon = transactionTemplate.execute(status -> todoRepository.findChangeHorizon());
+            if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> eventRepository.existsById(after.id())))) {
+                sent = transactionTemplate.execute(status -> eventRepository.findLastPosition(horizon));
+                sendSync();
+                return;
+            }
+            sent = after;
+            List<TodoEventMessage> events;
+            do {
+                TodoEventMessage.Position from = sent;
+                events = transactionTemplate.execute(status ->
+                        eventRepository.findAfter(userId, from, horizon, properties.getBatchSize()));
+                events.forEach(this::send);
+            } while (events.size() == properties.getBatchSize() && !closed.get());
+        }
+
+        private void send(TodoEventMessage event) {
+            if (sent != null && !event.position().isAfter(sent)) {
+                return;
+            }
+            write(SseEmitter.event()
+                    .id(event.position().encode())
+                    .name(event.type().toLowerCase(Locale.ROOT))
+                    .data(event.payload(), MediaType.APPLICATION_JSON));
+            sent = event.position();
+        }
+
+        private void sendSync() {
+            write(SseEmitter.event()
+                    .name(TodoEvent.Type.SYNC.name().toLowerCase(Locale.ROOT))
+                    .data(Map.of(), MediaType.APPLICATION_JSON));
+        }
+
+        void sendHeartbeat() {
+            write(SseEmitter.event().comment(HEARTBEAT));
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.computeIfPresent(userId, (id, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+}
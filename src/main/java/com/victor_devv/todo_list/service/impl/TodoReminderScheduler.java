@@ -0,0 +1,158 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.config.ReminderProperties;
+import com.victor_devv.todo_list.domain.dto.TodoReminderNotification;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.TodoReminder;
+import com.victor_devv.todo_list.domain.entity.TodoReminderScan;
+import com.victor_devv.todo_list.repository.TodoReminderRepository;
+import com.victor_devv.todo_list.repository.TodoReminderScanRepository;
+import com.victor_devv.todo_list.repository.TodoRepository;
+import com.victor_devv.todo_list.service.ReminderSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reminds users of todos coming due and of todos that have become overdue.
+ * <p>
+ * Every poll runs in two steps, each bounded by {@code application.reminders.batch-size}.
+ * First, for each reminder kind whose scan row this node manages to lock, open todos due
+ * inside that kind's window are queued as {@code todo_reminders} rows. Then the oldest
+ * queued reminders are claimed with {@code FOR UPDATE SKIP LOCKED} and handed to the
+ * {@link ReminderSink}. Several nodes can poll at once: they scan different kinds and
+ * claim different reminders, and the unique (todo, due date, kind) constraint makes sure
+ * no due date is reminded of twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodoReminderScheduler {
+
+    private final TodoReminderRepository reminderRepository;
+    private final TodoReminderScanRepository scanRepository;
+    private final TodoRepository todoRepository;
+    private final ReminderSink sink;
+    private final ReminderProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates the scan rows the V8 migration inserts, for schemas not managed by Flyway.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerScans() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (TodoReminder.Kind kind : TodoReminder.Kind.values()) {
+                if (!scanRepository.existsById(kind)) {
+                    scanRepository.save(new TodoReminderScan(kind, null));
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${application.reminders.poll-interval:30s}")
+    public void poll() {
+        if (properties.isEnabled()) {
+            poll(LocalDateTime.now());
+        }
+    }
+
+    void poll(LocalDateTime now) {
+        for (TodoReminder.Kind kind : TodoReminder.Kind.values()) {
+            Integer queued = transactionTemplate.execute(status -> enqueue(kind, now));
+            if (queued != null && queued > 0) {
+                log.debug("queued {} {} reminders", queued, kind);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> deliver(now));
+    }
+
+    /**
+     * Queues reminders of {@code kind} for todos due inside its window, unless another node
+     * is scanning for that kind right now.
+     *
+     * @return the number of reminders queued
+     */
+    int enqueue(TodoReminder.Kind kind, LocalDateTime now) {
+        Optional<TodoReminderScan> scan = scanRepository.lockForScan(kind);
+        if (scan.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime from = kind == TodoReminder.Kind.DUE_SOON ? now : now.minus(properties.getOverdueWindow());
+        LocalDateTime to = kind == TodoReminder.Kind.DUE_SOON ? now.plus(properties.getLeadTime()) : now;
+
+        List<TodoReminder> reminders = reminderRepository
+                .findDueTodos(kind, from, to, PageRequest.ofSize(properties.getBatchSize())).stream()
+                .<TodoReminder>map(row -> TodoReminder.builder()
+                        .todo(todoRepository.getReferenceById((Long) row[0]))
+                        .dueDate((LocalDateTime) row[1])
+                        .kind(kind)
+                        .status(TodoReminder.Status.PENDING)
+                        .build())
+                .toList();
+        reminderRepository.saveAll(reminders);
+        scan.get().setScannedAt(now);
+        return reminders.size();
+    }
+
+    /**
+     * Delivers the oldest queued reminders this node can claim. A reminder whose todo has
+     * since been closed or moved to another due date is marked obsolete instead.
+     *
+     * @return the number of reminders delivered
+     */
+    int deliver(LocalDateTime now) {
+        List<TodoReminder> reminders = reminderRepository.claimPending(PageRequest.ofSize(properties.getBatchSize()));
+        if (reminders.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Todo> todos = todoRepository.findAllById(reminders.stream()
+                        .map(reminder -> reminder.getTodo().getId())
+                        .toList()).stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+        int delivered = 0;
+        for (TodoReminder reminder : reminders) {
+            Todo todo = todos.get(reminder.getTodo().getId());
+            if (todo == null || !isOpen(todo) || !reminder.getDueDate().equals(todo.getDueDate())) {
+                reminder.setStatus(TodoReminder.Status.OBSOLETE);
+                continue;
+            }
+            try {
+                sink.send(new TodoReminderNotification(
+                        reminder.getId(),
+                        todo.getId(),
+                        todo.getUser().getId(),
+                        todo.getTitle(),
+                        todo.getDueDate(),
+                        reminder.getKind().name()));
+                reminder.setStatus(TodoReminder.Status.SENT);
+                reminder.setSentAt(now);
+                delivered++;
+            } catch (RuntimeException e) {
+                reminder.setAttempts(reminder.getAttempts() + 1);
+                if (reminder.getAttempts() >= properties.getMaxAttempts()) {
+                    reminder.setStatus(TodoReminder.Status.FAILED);
+                }
+                log.warn("could not deliver reminder with id: {} (attempt {})", reminder.getId(), reminder.getAttempts(), e);
+            }
+        }
+        return delivered;
+    }
+
+    private static boolean isOpen(Todo todo) {
+        return todo.getStatus() == Todo.Status.PENDING || todo.getStatus() == Todo.Status.IN_PROGRESS;
+    }
+}
@@ -1,37 +1,96 @@
 package com.victor_devv.todo_list.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.victor_devv.todo_list.config.ReadReplicaRoutingDataSource;
+import com.victor_devv.todo_list.domain.dto.CursorPage;
+import com.victor_devv.todo_list.domain.dto.PageCursor;
+import com.victor_devv.todo_list.domain.dto.SyncToken;
+import com.victor_devv.todo_list.domain.dto.TodoBatchOperation;
+import com.victor_devv.todo_list.domain.dto.TodoBatchResult;
+import com.victor_devv.todo_list.domain.dto.TodoChange;
+import com.victor_devv.todo_list.domain.dto.TodoChanges;
 import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoExportFormat;
+import com.victor_devv.todo_list.domain.dto.TodoFilter;
+import com.victor_devv.todo_list.domain.dto.TodoImportRejection;
+import com.victor_devv.todo_list.domain.dto.TodoImportResult;
 import com.victor_devv.todo_list.domain.dto.TodoRequest;
+import com.victor_devv.todo_list.domain.dto.TodoSearchHit;
+import com.victor_devv.todo_list.domain.dto.TodoSort;
+import com.victor_devv.todo_list.domain.dto.TodoStats;
+import com.victor_devv.todo_list.domain.dto.TodoStatusTransitionRequest;
+import com.victor_devv.todo_list.domain.dto.TodoStatusTransitionResult;
 import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.TodoEvent;
 import com.victor_devv.todo_list.domain.entity.User;
 import com.victor_devv.todo_list.domain.mapper.TodoMapper;
 import com.victor_devv.todo_list.repository.TodoRepository;
+import com.victor_devv.todo_list.repository.TodoSpecifications;
 import com.victor_devv.todo_list.repository.UserRepository;
 import com.victor_devv.todo_list.service.TodoService;
+import com.victor_devv.todo_list.util.Constants;
+import com.victor_devv.todo_list.util.TodoExports;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TodoServiceImpl implements TodoService {
 
+    private static final String SEARCH_SORT = "rank";
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
     private final TodoMapper todoMapper;
+    private final TodoEventOutbox eventOutbox;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
-    public TodoDto findById(Long id) {
-        return todoRepository.findById(id)
-                .map(todoMapper::toDto)
+    public TodoDto findById(Long id, Long userId) {
+        return todoRepository.findDtoByIdAndUserId(id, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Todo not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer findVersion(Long id, Long userId) {
+        return todoRepository.findVersionByIdAndUserId(id, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Todo not found with id: " + id));
     }
 
@@ -39,8 +98,166 @@ public class TodoServiceImpl implements TodoService {
     @Transactional(readOnly = true)
     public Page<TodoDto> findAllByUserId(Long userId, Pageable pageable) {
         checkUserExists(userId);
-        return todoRepository.findByUserId(userId, pageable)
-                .map(todoMapper::toDto);
+        return todoRepository.findByUserId(userId, pageable);
+    }
+
+    /**
+     * A status-only filter goes through the derived {@code findByUserIdAndStatus} query;
+     * any other combination is built as a specification. Both resolve to the
+     * (user_id, status|priority|due_date) indexes added in V5.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TodoDto> findAllByUserId(Long userId, TodoFilter filter, Pageable pageable) {
+        return isStatusOnly(filter)
+                ? todoRepository.findByUserIdAndStatus(userId, Todo.Status.valueOf(filter.getStatus()), pageable)
+                : todoRepository.findAllDtos(TodoSpecifications.matching(userId, filter), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TodoDto> scrollByUserId(Long userId, TodoSort sort, Sort.Direction direction, String cursor, int size) {
+        PageCursor after = cursor == null
+                ? null
+                : PageCursor.decode(cursor).requireOrder(sort.getParameter(), direction);
+        List<TodoDto> todos = todoRepository.findPageByUserId(userId, sort, direction, after, size + 1);
+        return CursorPage.of(todos, size,
+                last -> new PageCursor(sort.getParameter(), direction, sort.keyOf(last), last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TodoDto> search(Long userId, String query, String cursor, int size) {
+        List<String> terms = searchTerms(query);
+        PageCursor after = cursor == null
+                ? null
+                : PageCursor.decode(cursor).requireOrder(SEARCH_SORT, Sort.Direction.DESC);
+        List<TodoSearchHit> hits = todoRepository.search(userId, terms, after, size + 1);
+        return CursorPage.of(hits, size,
+                        last -> new PageCursor(SEARCH_SORT, Sort.Direction.DESC, Float.toString(last.rank()), last.todo().getId()))
+                .map(TodoSearchHit::todo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoStats getStats(Long userId) {
+        return todoRepository.findStats(userId, LocalDateTime.now());
+    }
+
+    /**
+     * A client without a token, or with one older than the tombstone retention, gets a full
+     * sync flagged as a reset. Every page of a sync reads up to the horizon taken on its
+     * first page, so changes committed in the meantime are left for the next sync instead
+     * of being skipped. The horizon and the changes are read on the primary: a replica that
+     * has replayed less than the one the horizon came from would be missing rows below it.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TodoChanges findChanges(Long userId, String since, int size) {
+        return ReadReplicaRoutingDataSource.onPrimary(() -> readChanges(userId, since, size));
+    }
+
+    private TodoChanges readChanges(Long userId, String since, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        SyncToken token = since == null ? null : SyncToken.decode(since);
+        if (token != null && token.issuedAt().isBefore(now.minusDays(Constants.TOMBSTONE_RETENTION_DAYS))) {
+            token = null;
+        }
+        boolean reset = false;
+        if (token == null || !token.isContinuation()) {
+            Long horizon = todoRepository.findChangeHorizon();
+            reset = token == null || horizon == null;
+            SyncToken from = reset ? SyncToken.start(now) : token;
+            token = new SyncToken(from.xid(), from.id(), horizon == null ? 0L : horizon, now);
+        }
+
+        List<TodoChange> changes = todoRepository.findChanges(userId, token.xid(), token.id(), token.horizon(), size + 1);
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+        SyncToken next = hasMore
+                ? new SyncToken(changes.getLast().xid(), changes.getLast().id(), token.horizon(), token.issuedAt())
+                : new SyncToken(token.horizon(), 0L, null, token.issuedAt());
+        return TodoChanges.builder()
+                .upserts(changes.stream().filter(change -> !change.isDeletion()).map(TodoChange::todo).toList())
+                .deletedIds(changes.stream().filter(TodoChange::isDeletion).map(TodoChange::id).toList())
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .reset(reset)
+                .build();
+    }
+
+    /**
+     * Writes each todo to {@code out} as it comes off the cursor. Rows are projected into
+     * {@link TodoDto}, so the persistence context stays empty and memory does not grow with
+     * the number of todos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(Long userId, TodoExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TodoDto> todos = todoRepository.streamByUserId(userId)) {
+            switch (format) {
+                case NDJSON -> TodoExports.writeNdjson(todos, objectMapper, out);
+                case CSV -> TodoExports.writeCsv(todos, out);
+            }
+        }
+        log.info("Exported Todos as {} for user with id: {}", format, userId);
+    }
+
+    /**
+     * Reads one {@link TodoRequest} per line and inserts the valid ones in chunks of
+     * {@link Constants#IMPORT_CHUNK_SIZE} through {@code insertAll}, so neither the body nor
+     * the persistence context is ever held whole. Blank lines are skipped; any other line
+     * that does not parse or validate is reported with its line number and not imported.
+     * <p>
+     * The body is read outside any transaction and each chunk commits on its own, with its
+     * {@code sync} event, so a slow upload holds neither a connection nor a transaction id
+     * that would keep the change horizon back. An import that fails halfway keeps the
+     * chunks committed before the failure.
+     */
+    @Override
+    public TodoImportResult importTodos(Long userId, InputStream in) throws IOException {
+        User user = transactionTemplate.execute(status -> {
+            checkUserExists(userId);
+            return userRepository.getReferenceById(userId);
+        });
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Todo> chunk = new ArrayList<>(Constants.IMPORT_CHUNK_SIZE);
+        List<TodoImportRejection> rejections = new ArrayList<>();
+        int imported = 0;
+        int rejected = 0;
+        long lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Todo todo = todoMapper.toEntity(parseImportLine(line));
+                todo.setUser(user);
+                chunk.add(todo);
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (rejections.size() < Constants.MAX_IMPORT_REJECTIONS) {
+                    rejections.add(new TodoImportRejection(lineNumber, e.getMessage()));
+                }
+                continue;
+            }
+            if (chunk.size() == Constants.IMPORT_CHUNK_SIZE) {
+                imported += insertChunk(userId, chunk);
+            }
+        }
+        imported += insertChunk(userId, chunk);
+        log.info("Imported {} Todos, rejected {}, for user with id: {}", imported, rejected, userId);
+
+        return TodoImportResult.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .rejections(rejections)
+                .build();
     }
 
     @Override
@@ -55,46 +272,269 @@ public class TodoServiceImpl implements TodoService {
         Todo savedTodo = todoRepository.save(todo);
         log.info("Created Todo with id: {}", savedTodo.getId());
 
-        return todoMapper.toDto(savedTodo);
+        TodoDto created = todoMapper.toDto(savedTodo);
+        eventOutbox.append(TodoEvent.Type.CREATED, created);
+        return created;
     }
 
     @Override
     @Transactional
-    public TodoDto update(Long id, TodoRequest request) {
-        Todo todo = todoRepository.findById(id)
+    public TodoDto update(Long id, Long userId, Integer expectedVersion, TodoRequest request) {
+        Todo todo = todoRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Todo not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(todo.getVersion())) {
+            throw staleVersion(id);
+        }
 
         todoMapper.updateEntityFromRequest(request, todo);
 
-        Todo savedTodo = todoRepository.save(todo);
+        // Flushed here so the returned version, and the ETag built from it, is the new one.
+        Todo savedTodo = todoRepository.saveAndFlush(todo);
         log.info("Updated Todo with id: {}", savedTodo.getId());
 
-        return todoMapper.toDto(savedTodo);
+        TodoDto updated = todoMapper.toDto(savedTodo);
+        eventOutbox.append(TodoEvent.Type.UPDATED, updated);
+        return updated;
     }
 
     @Override
     @Transactional
-    public void delete(Long id) {
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Todo not found with id: " + id));
-
-        todoRepository.delete(todo);
+    public void delete(Long id, Long userId, Integer expectedVersion) {
+        if (!todoRepository.deleteOwned(id, userId, expectedVersion)) {
+            throw notFoundOrStale(id, userId);
+        }
+        eventOutbox.appendDeleted(userId, id);
         log.info("Deleted Todo with id: {}", id);
     }
 
     @Override
     @Transactional
-    public TodoDto markAsCompleted(Long id) {
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Todo not found with id: " + id));
+    public TodoDto markAsCompleted(Long id, Long userId, Integer expectedVersion) {
+        Todo todo = todoRepository.transitionStatus(id, userId, expectedVersion, Todo.Status.COMPLETED, LocalDateTime.now())
+                .orElseThrow(() -> notFoundOrStale(id, userId));
+        log.info("Marked Todo as completed with id: {}", id);
 
-        todo.setStatus(Todo.Status.COMPLETED);
-        todo.setCompletedAt(LocalDateTime.now());
+        TodoDto completed = todoMapper.toDto(todo);
+        eventOutbox.append(TodoEvent.Type.COMPLETED, completed);
+        return completed;
+    }
 
-        Todo savedTodo = todoRepository.save(todo);
-        log.info("Marked Todo as completed with id: {}", id);
+    @Override
+    @Transactional
+    public TodoStatusTransitionResult transitionStatus(Long userId, TodoStatusTransitionRequest request) {
+        Todo.Status status = Todo.Status.valueOf(request.getStatus());
+        if (status != Todo.Status.COMPLETED && status != Todo.Status.CANCELLED) {
+            throw new IllegalArgumentException("status must be COMPLETED or CANCELLED");
+        }
+
+        int updated = todoRepository.transitionStatusMatching(userId, request.getFilter(), status, LocalDateTime.now());
+        if (updated > 0) {
+            eventOutbox.appendSync(userId, updated);
+        }
+        log.info("Moved {} Todos to {} for user with id: {}", updated, status, userId);
+
+        return TodoStatusTransitionResult.builder()
+                .status(status.name())
+                .updated(updated)
+                .build();
+    }
+
+    /**
+     * Applies a mixed list of operations in one transaction. Ids come from a pooled
+     * sequence, so creates don't need a round trip each and all inserts, updates and
+     * deletes are flushed together in JDBC batches. Operations that cannot be applied
+     * are reported as failed without affecting the others.
+     */
+    @Override
+    @Transactional
+    public List<TodoBatchResult> batch(Long userId, List<TodoBatchOperation> operations) {
+        List<Long> ids = operations.stream()
+                .map(TodoBatchOperation::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Todo> todos = ids.isEmpty()
+                ? new HashMap<>()
+                : todoRepository.findAllByIdInAndUserId(ids, userId).stream()
+                        .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        User user = userRepository.getReferenceById(userId);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<TodoBatchResult> results = new ArrayList<>(operations.size());
+        // In operation order, which is also the order the operations' events are appended in.
+        Map<Integer, Todo> applied = new LinkedHashMap<>();
+        for (int index = 0; index < operations.size(); index++) {
+            TodoBatchOperation operation = operations.get(index);
+            TodoBatchResult result = TodoBatchResult.builder()
+                    .index(index)
+                    .op(operation.getOp())
+                    .id(operation.getId())
+                    .status("success")
+                    .build();
+            try {
+                applied.put(index, apply(operation, todos, user, now));
+            } catch (IllegalArgumentException | EntityNotFoundException e) {
+                result.setStatus("fail");
+                result.setMessage(e.getMessage());
+            }
+            results.add(result);
+        }
+
+        todoRepository.flush();
+
+        applied.forEach((index, todo) -> {
+            TodoBatchResult result = results.get(index);
+            result.setId(todo.getId());
+            TodoBatchOperation.Type type = TodoBatchOperation.Type.valueOf(result.getOp());
+            if (type == TodoBatchOperation.Type.DELETE) {
+                eventOutbox.appendDeleted(userId, todo.getId());
+            } else {
+                result.setTodo(todoMapper.toDto(todo));
+                eventOutbox.append(switch (type) {
+                    case CREATE -> TodoEvent.Type.CREATED;
+                    case COMPLETE -> TodoEvent.Type.COMPLETED;
+                    default -> TodoEvent.Type.UPDATED;
+                }, result.getTodo());
+            }
+        });
+        log.info("Applied {} of {} batch operations for user with id: {}", applied.size(), operations.size(), userId);
+
+        return results;
+    }
+
+    private Todo apply(TodoBatchOperation operation, Map<Long, Todo> todos, User user, LocalDateTime now) {
+        TodoBatchOperation.Type type = TodoBatchOperation.Type.valueOf(operation.getOp());
+        if (type == TodoBatchOperation.Type.CREATE) {
+            Todo todo = todoMapper.toEntity(requireTodo(operation));
+            todo.setUser(user);
+            return todoRepository.save(todo);
+        }
+
+        Todo todo = operation.getId() == null ? null : todos.get(operation.getId());
+        if (todo == null) {
+            throw new EntityNotFoundException("Todo not found with id: " + operation.getId());
+        }
+        switch (type) {
+            case UPDATE -> todoMapper.updateEntityFromRequest(requireTodo(operation), todo);
+            case COMPLETE -> {
+                todo.setStatus(Todo.Status.COMPLETED);
+                todo.setCompletedAt(now);
+            }
+            case DELETE -> {
+                todoRepository.delete(todo);
+                todos.remove(operation.getId());
+            }
+            default -> throw new IllegalArgumentException("unsupported op: " + type);
+        }
+        return todo;
+    }
+
+    /**
+     * Checks the enum values up front so a bad request never leaves a managed
+     * entity half updated.
+     */
+    private static TodoRequest requireTodo(TodoBatchOperation operation) {
+        TodoRequest request = operation.getTodo();
+        if (request == null) {
+            throw new IllegalArgumentException("todo is required for " + operation.getOp());
+        }
+        if (request.getPriority() != null) {
+            Todo.Priority.valueOf(request.getPriority());
+        }
+        if (request.getStatus() != null) {
+            Todo.Status.valueOf(request.getStatus());
+        }
+        return request;
+    }
+
+    private int insertChunk(Long userId, List<Todo> chunk) {
+        int size = chunk.size();
+        if (size > 0) {
+            transactionTemplate.executeWithoutResult(status -> {
+                todoRepository.insertAll(chunk);
+                eventOutbox.appendSync(userId, size);
+            });
+        }
+        chunk.clear();
+        return size;
+    }
+
+    /**
+     * Parses and validates one import line. Priority and status are required here, as
+     * the columns are not nullable and a single bad row would otherwise fail the whole chunk.
+     */
+    private TodoRequest parseImportLine(String line) {
+        TodoRequest request;
+        try {
+            request = objectMapper.readValue(line, TodoRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+        }
+        if (request == null) {
+            throw new IllegalArgumentException("a todo object is required");
+        }
+        List<String> errors = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        String priority = request.getPriority();
+        if (priority == null) {
+            errors.add("priority is required");
+        } else if (Arrays.stream(Todo.Priority.values()).noneMatch(value -> value.name().equals(priority))) {
+            errors.add("priority must be one of LOW, MEDIUM, HIGH, URGENT");
+        }
+        String status = request.getStatus();
+        if (status == null) {
+            errors.add("status is required");
+        } else if (Arrays.stream(Todo.Status.values()).noneMatch(value -> value.name().equals(status))) {
+            errors.add("status must be one of PENDING, IN_PROGRESS, COMPLETED, CANCELLED");
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+        return request;
+    }
+
+    /**
+     * Splits a search query into distinct lowercase words, dropping punctuation, so that
+     * nothing but letters and digits reaches the full-text query.
+     */
+    private static List<String> searchTerms(String query) {
+        List<String> terms = query == null
+                ? List.of()
+                : Arrays.stream(NON_WORD.split(query.toLowerCase(Locale.ROOT)))
+                        .filter(term -> !term.isEmpty())
+                        .distinct()
+                        .toList();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("q must contain at least one word");
+        }
+        if (terms.size() > Constants.MAX_SEARCH_TERMS) {
+            throw new IllegalArgumentException("q must not contain more than " + Constants.MAX_SEARCH_TERMS + " words");
+        }
+        return terms;
+    }
+
+    /**
+     * Tells apart a conditional write that matched nothing because the todo is gone
+     * (or not the user's) from one that lost to a newer version.
+     */
+    private RuntimeException notFoundOrStale(Long id, Long userId) {
+        return todoRepository.findVersionByIdAndUserId(id, userId).isPresent()
+                ? staleVersion(id)
+                : new EntityNotFoundException("Todo not found with id: " + id);
+    }
+
+    private static OptimisticLockingFailureException staleVersion(Long id) {
+        return new OptimisticLockingFailureException("Todo with id " + id + " has been modified");
+    }
 
-        return todoMapper.toDto(savedTodo);
+    private static boolean isStatusOnly(TodoFilter filter) {
+        return filter.getStatus() != null
+                && filter.getPriority() == null
+                && filter.getDueFrom() == null
+                && filter.getDueTo() == null
+                && (filter.getIds() == null || filter.getIds().isEmpty());
     }
 
     private void checkUserExists(Long userId) {
@@ -0,0 +1,49 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.repository.TodoRepository;
+import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.util.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Periodically recounts every user's todos into {@code todo_user_stats}, repairing any
+ * drift in the trigger-maintained counters, such as after a manual data fix with the
+ * triggers disabled. Each user is recounted in a transaction of its own so a row lock is
+ * never held for longer than one user's count.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodoStatsReconciler {
+
+    private final UserRepository userRepository;
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${application.todos.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        int repaired = 0;
+        long afterId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsGreaterThan(afterId, PageRequest.ofSize(Constants.STATS_RECONCILE_BATCH_SIZE));
+            for (Long userId : userIds) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> todoRepository.reconcileStats(userId)))) {
+                    log.warn("repaired drifted todo stats of user with id: {}", userId);
+                    repaired++;
+                }
+            }
+            if (!userIds.isEmpty()) {
+                afterId = userIds.getLast();
+            }
+        } while (userIds.size() == Constants.STATS_RECONCILE_BATCH_SIZE);
+        log.info("reconciled todo stats, {} users repaired", repaired);
+    }
+}
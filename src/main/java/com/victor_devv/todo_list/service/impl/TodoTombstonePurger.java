@@ -0,0 +1,32 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.repository.TodoRepository;
+import com.victor_devv.todo_list.util.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically drops the tombstones of todos deleted more than
+ * {@link Constants#TOMBSTONE_RETENTION_DAYS} days ago. Sync tokens expire after the same
+ * time, so no client can still be waiting for a purged deletion.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodoTombstonePurger {
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${application.todos.sync.purge-cron:0 0 4 * * *}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minusDays(Constants.TOMBSTONE_RETENTION_DAYS);
+        Integer purged = transactionTemplate.execute(status -> todoRepository.purgeTombstones(before));
+        log.info("purged {} todo tombstones older than {}", purged, before);
+    }
+}
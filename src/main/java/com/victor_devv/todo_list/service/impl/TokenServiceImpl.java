@@ -0,0 +1,138 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.config.jwt.AccessTokenRevocations;
+import com.victor_devv.todo_list.config.jwt.JwtPrincipal;
+import com.victor_devv.todo_list.config.jwt.JwtPrincipalResolver;
+import com.victor_devv.todo_list.config.jwt.JwtService;
+import com.victor_devv.todo_list.domain.dto.LoginResponse;
+import com.victor_devv.todo_list.domain.entity.RefreshToken;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.domain.mapper.UserMapper;
+import com.victor_devv.todo_list.repository.RefreshTokenRepository;
+import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.service.TokenService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenServiceImpl implements TokenService {
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final JwtService jwtService;
+    private final AccessTokenRevocations revocations;
+    private final JwtPrincipalResolver principalResolver;
+
+    @Override
+    @Transactional
+    public LoginResponse issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Failures past the lookup are committed, so that a reused token's family stays revoked.
+     */
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public LoginResponse refresh(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(digest(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("refresh token expired");
+        }
+        if (refreshTokenRepository.revoke(current.getId(), now) == 0) {
+            log.warn("reused refresh token of user with id: {}, revoking its family", current.getUserId());
+            revokeFamily(current, now);
+            throw new BadCredentialsException("invalid refresh token");
+        }
+        User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new BadCredentialsException("invalid refresh token"));
+        return issue(user, current.getFamilyId());
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(digest(refreshToken))
+                .ifPresent(token -> revokeFamily(token, LocalDateTime.now()));
+    }
+
+    private LoginResponse issue(User user, UUID familyId) {
+        String jti = UUID.randomUUID().toString();
+        String accessToken = jwtService.generateToken(Map.of(
+                Claims.ID, jti,
+                JwtPrincipal.USER_ID_CLAIM, user.getId(),
+                JwtPrincipal.AUTHORITIES_CLAIM, user.getAuthorities()
+        ), user);
+        String refreshToken = newRefreshToken();
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(user.getId())
+                .familyId(familyId)
+                .tokenHash(digest(refreshToken))
+                .expiresAt(now.plus(Duration.ofMillis(jwtService.getRefreshTokenExpiration())))
+                .accessJti(jti)
+                .accessExpiresAt(now.plus(Duration.ofMillis(jwtService.getAccessTokenExpiration())))
+                .createdAt(now)
+                .build());
+
+        return LoginResponse.builder()
+                .user(userMapper.toDto(user))
+                .token(accessToken)
+                .refreshToken(refreshToken)
+                .expiresIn(Duration.ofMillis(jwtService.getAccessTokenExpiration()).toSeconds())
+                .build();
+    }
+
+    /**
+     * Revokes the family of {@code token} in the database, where the other nodes pick it up,
+     * and the access tokens in this node's revocation set right away. The user's next
+     * request on this node is also checked against the database again, even where
+     * principals are otherwise trusted from the token for a while.
+     */
+    private void revokeFamily(RefreshToken token, LocalDateTime now) {
+        refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+        for (RefreshToken member : refreshTokenRepository.findByFamilyId(token.getFamilyId())) {
+            revocations.revoke(member.getAccessJti(), member.getAccessExpiresAt());
+        }
+        principalResolver.signalRevocation(token.getUserId());
+    }
+
+    private static String newRefreshToken() {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String digest(String refreshToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(refreshToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
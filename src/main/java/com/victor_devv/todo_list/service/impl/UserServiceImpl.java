@@ -1,7 +1,8 @@
 package com.victor_devv.todo_list.service.impl;
 
-import com.victor_devv.todo_list.config.jwt.JwtService;
+import com.victor_devv.todo_list.domain.dto.CursorPage;
 import com.victor_devv.todo_list.domain.dto.LoginRequest;
+import com.victor_devv.todo_list.domain.dto.PageCursor;
 import com.victor_devv.todo_list.domain.dto.UserDto;
 import com.victor_devv.todo_list.domain.dto.LoginResponse;
 import com.victor_devv.todo_list.domain.dto.UserRequest;
@@ -9,30 +10,40 @@ import com.victor_devv.todo_list.domain.entity.Role;
 import com.victor_devv.todo_list.domain.entity.User;
 import com.victor_devv.todo_list.domain.mapper.UserMapper;
 import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.service.TokenService;
 import com.victor_devv.todo_list.service.UserService;
+import com.victor_devv.todo_list.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityNotFoundException;
 
-import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final String ID_SORT = "id";
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
+    private final TokenService tokenService;
     private final AuthenticationManager authenticationManager;
 
     @Override
@@ -50,17 +61,22 @@ public class UserServiceImpl implements UserService {
                 .map(userMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> scroll(String cursor, int size) {
+        long afterId = cursor == null
+                ? 0L
+                : PageCursor.decode(cursor).requireOrder(ID_SORT, Sort.Direction.ASC).id();
+        List<UserDto> users = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)).stream()
+                .map(userMapper::toDto)
+                .toList();
+        return CursorPage.of(users, size,
+                last -> new PageCursor(ID_SORT, Sort.Direction.ASC, null, last.getId()));
+    }
+
     @Override
     @Transactional
     public LoginResponse create(UserRequest userDto) {
-        if (userRepository.existsByUsername(userDto.getUsername())) {
-            throw new IllegalArgumentException("username already exists: " + userDto.getUsername());
-        }
-
-        if (userRepository.existsByEmail(userDto.getEmail())) {
-            throw new IllegalArgumentException("email address already exists: " + userDto.getEmail());
-        }
-
         if (userDto.getPassword() == null || userDto.getPassword().trim().isEmpty()) {
             throw new IllegalArgumentException("password cannot be empty");
         }
@@ -69,6 +85,14 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("password must be at least 8 characters");
         }
 
+        // Checked before hashing so a duplicate sign-up does not take a turn on the bounded
+        // password hashing pool; the constraints below still decide concurrent sign-ups.
+        if (userRepository.existsByUsernameOrEmail(userDto.getUsername(), userDto.getEmail())) {
+            throw userRepository.existsByUsername(userDto.getUsername())
+                    ? new IllegalArgumentException("username already exists: " + userDto.getUsername())
+                    : new IllegalArgumentException("email address already exists: " + userDto.getEmail());
+        }
+
         String hashedPassword = passwordEncoder.encode(userDto.getPassword());
 
         User user = User.builder()
@@ -80,38 +104,50 @@ public class UserServiceImpl implements UserService {
                 .role(Role.USER)
                 .build();
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUser(e, userDto);
+        }
         log.info("created user with id: {}", savedUser.getId());
 
-        HashMap<String, Object> claims = new HashMap<String, Object>();
-        claims.put("user_id", user.getId());
-        claims.put("user_authorities", user.getAuthorities());
-
-        var jwtToken = jwtService.generateToken(claims, user);
-        return LoginResponse.builder()
-                .user(userMapper.toDto(savedUser))
-                .token(jwtToken)
-                .build();
+        return tokenService.issue(savedUser);
     }
 
+    /**
+     * The principal of the returned authentication is the user loaded while checking
+     * the password, so no second lookup is needed to issue the token.
+     */
     public LoginResponse authenticate(LoginRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword()
                 )
         );
-        var user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow();
-
-        HashMap<String, Object> claims = new HashMap<String, Object>();
-        claims.put("user_id", user.getId());
-        claims.put("user_authorities", user.getAuthorities());
+        if (!(authentication.getPrincipal() instanceof User user)) {
+            throw new IllegalStateException("unexpected principal: " + authentication.getPrincipal());
+        }
+        return tokenService.issue(user);
+    }
 
-        var jwtToken = jwtService.generateToken(claims, user);
-        return LoginResponse.builder()
-                .user(userMapper.toDto(user))
-                .token(jwtToken)
-                .build();
+    /**
+     * Uniqueness of usernames and emails is guaranteed by {@code uk_users_username} and
+     * {@code uk_users_email}, so two concurrent registrations cannot both get through the
+     * existence check in {@link #create(UserRequest)}.
+     * The violated column is also looked for in the message, as the email natural id
+     * may carry a constraint of its own where the schema is generated.
+     */
+    private static RuntimeException duplicateUser(DataIntegrityViolationException e, UserRequest request) {
+        String constraint = e.getCause() instanceof ConstraintViolationException cve ? cve.getConstraintName() : null;
+        String violation = (constraint + " " + e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (violation.contains(Constants.USERS_USERNAME_CONSTRAINT) || violation.contains("(username")) {
+            return new IllegalArgumentException("username already exists: " + request.getUsername());
+        }
+        if (violation.contains(Constants.USERS_EMAIL_CONSTRAINT) || violation.contains("(email")) {
+            return new IllegalArgumentException("email address already exists: " + request.getEmail());
+        }
+        return e;
     }
 }
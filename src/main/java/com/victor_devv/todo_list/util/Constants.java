@@ -9,4 +9,35 @@ public final class Constants {
     // Pagination
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
+
+    // Batch operations
+    public static final int MAX_BATCH_SIZE = 500;
+
+    // Search
+    public static final int MAX_SEARCH_TERMS = 8;
+
+    // Export
+    public static final int EXPORT_FETCH_SIZE = 500;
+
+    // Import
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+    public static final int MAX_IMPORT_REJECTIONS = 1000;
+
+    // Stats
+    public static final int STATS_RECONCILE_BATCH_SIZE = 500;
+
+    // Delta sync
+    public static final int DEFAULT_SYNC_PAGE_SIZE = 200;
+    public static final int MAX_SYNC_PAGE_SIZE = 1000;
+    public static final int TOMBSTONE_RETENTION_DAYS = 30;
+
+    // Unique constraints on users, matched when an insert is rejected
+    public static final String USERS_USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String USERS_EMAIL_CONSTRAINT = "uk_users_email";
+
+    // Second-level cache regions, sized in src/main/resources/application.conf
+    public static final String USER_CACHE_REGION = "users";
+    public static final String USER_EMAIL_CACHE_REGION = "users-by-email";
+    public static final String TODO_CACHE_REGION = "todos";
+    public static final String TODO_QUERY_CACHE_REGION = "todo-queries";
 }
@@ -0,0 +1,69 @@
+package com.victor_devv.todo_list.util;
+
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Entity tags derived from the optimistic-lock version. A single todo gets the strong
+ * tag {@code "<id>-<version>"}; a listing gets a weak tag over the ids and versions it
+ * contains, so neither needs the serialized body to be computed.
+ */
+public final class ETags {
+
+    private static final String ANY = "*";
+
+    /**
+     * Version that no todo ever has, returned for an {@code If-Match} tag that cannot
+     * match so the caller still answers 404 for a missing todo before 412.
+     */
+    private static final int NO_VERSION = -1;
+
+    private ETags() {
+
+    }
+
+    public static String of(Long id, Integer version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    public static String of(TodoDto todo) {
+        return of(todo.getId(), todo.getVersion());
+    }
+
+    /**
+     * Weak tag over a listing. {@code discriminator} carries whatever else the response
+     * shows, such as the total count or the next cursor.
+     */
+    public static String weak(Collection<TodoDto> todos, Object discriminator) {
+        StringBuilder content = new StringBuilder(String.valueOf(discriminator));
+        for (TodoDto todo : todos) {
+            content.append(',').append(todo.getId()).append('-').append(todo.getVersion());
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires for the todo, or {@code null}
+     * when the header is absent or {@code *}. Weak, malformed or foreign tags never match.
+     */
+    public static Integer expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith(prefix) && candidate.endsWith("\"")) {
+                try {
+                    return Integer.valueOf(candidate.substring(prefix.length(), candidate.length() - 1));
+                } catch (NumberFormatException e) {
+                    return NO_VERSION;
+                }
+            }
+        }
+        return NO_VERSION;
+    }
+}
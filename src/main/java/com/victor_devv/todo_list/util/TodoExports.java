@@ -0,0 +1,103 @@
+package com.victor_devv.todo_list.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes todos to an export as they are read, one line per todo, so nothing but the
+ * current row and the output buffer is held in memory. The stream is flushed at the
+ * end only; the caller owns and closes it.
+ */
+public final class TodoExports {
+
+    private static final String CSV_HEADER =
+            "id,version,title,description,priority,status,dueDate,completedAt,createdAt,updatedAt";
+
+    /**
+     * Same pattern as the {@code @JsonFormat} on {@link TodoDto}, so both formats agree.
+     */
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private TodoExports() {
+
+    }
+
+    public static void writeNdjson(Stream<TodoDto> todos, ObjectMapper objectMapper, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TodoDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly instead of separated by the default space.
+            generator.setRootValueSeparator(null);
+            for (Iterator<TodoDto> it = todos.iterator(); it.hasNext(); ) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+            }
+        }
+        out.flush();
+    }
+
+    public static void writeCsv(Stream<TodoDto> todos, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        for (Iterator<TodoDto> it = todos.iterator(); it.hasNext(); ) {
+            TodoDto todo = it.next();
+            writer.write(String.valueOf(todo.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(todo.getVersion()));
+            writer.write(',');
+            writer.write(csvField(todo.getTitle()));
+            writer.write(',');
+            writer.write(csvField(todo.getDescription()));
+            writer.write(',');
+            writer.write(csvField(todo.getPriority()));
+            writer.write(',');
+            writer.write(csvField(todo.getStatus()));
+            writer.write(',');
+            writer.write(csvField(todo.getDueDate()));
+            writer.write(',');
+            writer.write(csvField(todo.getCompletedAt()));
+            writer.write(',');
+            writer.write(csvField(todo.getCreatedAt()));
+            writer.write(',');
+            writer.write(csvField(todo.getUpdatedAt()));
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private static String csvField(LocalDateTime value) {
+        return value == null ? "" : DATE_TIME.format(value);
+    }
+
+    /**
+     * Quotes a value as RFC 4180 requires when it holds a separator, a quote or a line break.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,22 @@
+-- Transactional outbox for the todo event stream: every todo write appends its event in
+-- the same transaction, and each node's relay reads the table to push events to the SSE
+-- subscribers connected to it. Events are read in (change_xid, id) order below the oldest
+-- running transaction, as the V9 change feed is, so an event committing late is not skipped.
+CREATE TABLE todo_events (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    todo_id BIGINT,
+    type VARCHAR(20) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    change_xid xid8 NOT NULL DEFAULT pg_current_xact_id()
+);
+
+ALTER SEQUENCE todo_events_id_seq INCREMENT BY 50;
+
+-- The relay reads every user's events; a resuming subscriber reads only its own.
+CREATE INDEX idx_todo_events_change ON todo_events (change_xid, id);
+CREATE INDEX idx_todo_events_user_change ON todo_events (user_id, change_xid, id);
+CREATE INDEX idx_todo_events_created_at ON todo_events (created_at);
+
+COMMENT ON TABLE todo_events IS 'Outbox of todo changes, relayed to open event streams and purged once expired';
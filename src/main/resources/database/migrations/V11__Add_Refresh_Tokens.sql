@@ -0,0 +1,27 @@
+-- Refresh tokens, stored as the SHA-256 digest of the opaque token handed out. Each refresh
+-- rotates the token within its family; presenting a rotated token again revokes the whole
+-- family. Every row also records the access token issued with it, so revoking the family
+-- can revoke those too: nodes poll access_revoked_at to keep their revocation sets current.
+CREATE TABLE refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    family_id UUID NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    access_jti VARCHAR(36) NOT NULL,
+    access_expires_at TIMESTAMP NOT NULL,
+    access_revoked_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash)
+);
+
+ALTER SEQUENCE refresh_tokens_id_seq INCREMENT BY 50;
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_access_revoked_at ON refresh_tokens (access_revoked_at)
+    WHERE access_revoked_at IS NOT NULL;
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+COMMENT ON TABLE refresh_tokens IS 'Hashed rotating refresh tokens and the access tokens issued with them';
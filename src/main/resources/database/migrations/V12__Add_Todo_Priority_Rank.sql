@@ -0,0 +1,7 @@
+-- Priorities are stored by name, which sorts HIGH < LOW < MEDIUM < URGENT. Listing by
+-- priority orders and seeks on this rank instead, LOW lowest, off an owner-leading index.
+ALTER TABLE todos ADD COLUMN priority_rank INTEGER GENERATED ALWAYS AS (
+    CASE priority WHEN 'LOW' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'HIGH' THEN 2 WHEN 'URGENT' THEN 3 END
+) STORED;
+
+CREATE INDEX idx_todos_user_priority_rank ON todos (user_id, priority_rank, id);
@@ -0,0 +1,4 @@
+-- Hibernate draws ids from the BIGSERIAL sequences with a pooled optimizer,
+-- reserving a block of 50 ids per round trip so inserts can be batched.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE todos_id_seq INCREMENT BY 50;
@@ -0,0 +1,15 @@
+-- Every todo query is scoped to its owner, so indexes lead with user_id and then
+-- follow the filter or sort column. The trailing id matches the keyset tie-break.
+CREATE INDEX idx_todos_user_status_due ON todos (user_id, status, due_date, id);
+CREATE INDEX idx_todos_user_priority ON todos (user_id, priority, id);
+CREATE INDEX idx_todos_user_due ON todos (user_id, due_date, id);
+CREATE INDEX idx_todos_user_created ON todos (user_id, created_at, id);
+
+-- Open items are the hot working set; completed and cancelled rows stay out of it.
+CREATE INDEX idx_todos_open_due ON todos (user_id, due_date, id)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
+
+-- Covered by the composites above; status and priority alone were never selective.
+DROP INDEX idx_todos_user_id;
+DROP INDEX idx_todos_status;
+DROP INDEX idx_todos_priority;
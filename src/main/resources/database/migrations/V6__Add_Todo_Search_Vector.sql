@@ -0,0 +1,9 @@
+-- The 'simple' configuration lowercases and splits words without stemming, so a
+-- prefix query matches the same words a plain substring-of-word search would.
+ALTER TABLE todos
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_todos_search_vector ON todos USING GIN (search_vector);
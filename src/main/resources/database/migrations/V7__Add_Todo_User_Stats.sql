@@ -0,0 +1,109 @@
+-- Per-user todo counts by status and priority, kept current by statement-level
+-- triggers so the stats endpoint reads one row instead of counting the user's todos.
+CREATE TABLE todo_user_stats (
+    user_id BIGINT PRIMARY KEY,
+    pending BIGINT NOT NULL DEFAULT 0,
+    in_progress BIGINT NOT NULL DEFAULT 0,
+    completed BIGINT NOT NULL DEFAULT 0,
+    cancelled BIGINT NOT NULL DEFAULT 0,
+    low BIGINT NOT NULL DEFAULT 0,
+    medium BIGINT NOT NULL DEFAULT 0,
+    high BIGINT NOT NULL DEFAULT 0,
+    urgent BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_todo_user_stats_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TYPE todo_stats_change AS (
+    user_id BIGINT,
+    status VARCHAR(20),
+    priority VARCHAR(10),
+    delta INTEGER
+);
+
+-- Adds the changes to the counters, one upsert per user. Users are locked in id order
+-- so two statements touching the same users cannot deadlock.
+CREATE OR REPLACE FUNCTION apply_todo_stats_changes(changes todo_stats_change[])
+RETURNS VOID AS $$
+    INSERT INTO todo_user_stats AS s (user_id, pending, in_progress, completed, cancelled, low, medium, high, urgent)
+    SELECT user_id,
+           COALESCE(SUM(delta) FILTER (WHERE status = 'PENDING'), 0),
+           COALESCE(SUM(delta) FILTER (WHERE status = 'IN_PROGRESS'), 0),
+           COALESCE(SUM(delta) FILTER (WHERE status = 'COMPLETED'), 0),
+           COALESCE(SUM(delta) FILTER (WHERE status = 'CANCELLED'), 0),
+           COALESCE(SUM(delta) FILTER (WHERE priority = 'LOW'), 0),
+           COALESCE(SUM(delta) FILTER (WHERE priority = 'MEDIUM'), 0),
+           COALESCE(SUM(delta) FILTER (WHERE priority = 'HIGH'), 0),
+           COALESCE(SUM(delta) FILTER (WHERE priority = 'URGENT'), 0)
+    FROM unnest(changes)
+    GROUP BY user_id
+    ORDER BY user_id
+    ON CONFLICT (user_id) DO UPDATE SET
+        pending = s.pending + EXCLUDED.pending,
+        in_progress = s.in_progress + EXCLUDED.in_progress,
+        completed = s.completed + EXCLUDED.completed,
+        cancelled = s.cancelled + EXCLUDED.cancelled,
+        low = s.low + EXCLUDED.low,
+        medium = s.medium + EXCLUDED.medium,
+        high = s.high + EXCLUDED.high,
+        urgent = s.urgent + EXCLUDED.urgent;
+$$ LANGUAGE sql;
+
+-- Updates that leave the owner, status and priority alone do not touch the counters,
+-- so editing a title never waits on the stats row.
+CREATE OR REPLACE FUNCTION maintain_todo_user_stats()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF (TG_OP = 'INSERT') THEN
+        PERFORM apply_todo_stats_changes(ARRAY(
+            SELECT ROW(user_id, status, priority, 1)::todo_stats_change FROM new_rows));
+    ELSIF (TG_OP = 'DELETE') THEN
+        PERFORM apply_todo_stats_changes(ARRAY(
+            SELECT ROW(user_id, status, priority, -1)::todo_stats_change FROM old_rows));
+    ELSE
+        PERFORM apply_todo_stats_changes(ARRAY(
+            SELECT ROW(change.user_id, change.status, change.priority, change.delta)::todo_stats_change
+            FROM old_rows o
+            JOIN new_rows n ON n.id = o.id
+            CROSS JOIN LATERAL (VALUES
+                (o.user_id, o.status, o.priority, -1),
+                (n.user_id, n.status, n.priority, 1)
+            ) AS change (user_id, status, priority, delta)
+            WHERE (o.user_id, o.status, o.priority) IS DISTINCT FROM (n.user_id, n.status, n.priority)));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER maintain_todo_user_stats_insert
+AFTER INSERT ON todos
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_todo_user_stats();
+
+CREATE OR REPLACE TRIGGER maintain_todo_user_stats_update
+AFTER UPDATE ON todos
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_todo_user_stats();
+
+CREATE OR REPLACE TRIGGER maintain_todo_user_stats_delete
+AFTER DELETE ON todos
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_todo_user_stats();
+
+INSERT INTO todo_user_stats (user_id, pending, in_progress, completed, cancelled, low, medium, high, urgent)
+SELECT user_id,
+       COUNT(*) FILTER (WHERE status = 'PENDING'),
+       COUNT(*) FILTER (WHERE status = 'IN_PROGRESS'),
+       COUNT(*) FILTER (WHERE status = 'COMPLETED'),
+       COUNT(*) FILTER (WHERE status = 'CANCELLED'),
+       COUNT(*) FILTER (WHERE priority = 'LOW'),
+       COUNT(*) FILTER (WHERE priority = 'MEDIUM'),
+       COUNT(*) FILTER (WHERE priority = 'HIGH'),
+       COUNT(*) FILTER (WHERE priority = 'URGENT')
+FROM todos
+GROUP BY user_id;
+
+COMMENT ON TABLE todo_user_stats IS 'Todo counts per user by status and priority, maintained by triggers on todos';
+COMMENT ON FUNCTION maintain_todo_user_stats() IS 'Applies the net count changes of a todos statement to todo_user_stats';
@@ -0,0 +1,41 @@
+-- Reminders queued for todos coming due or overdue, kept after delivery as a record.
+CREATE TABLE todo_reminders (
+    id BIGSERIAL PRIMARY KEY,
+    version INTEGER NOT NULL DEFAULT 0,
+    todo_id BIGINT NOT NULL,
+    due_date TIMESTAMP NOT NULL,
+    kind VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_at TIMESTAMP,
+    updated_by VARCHAR(255),
+    CONSTRAINT fk_todo_reminders_todo FOREIGN KEY (todo_id) REFERENCES todos (id) ON DELETE CASCADE,
+    CONSTRAINT uk_todo_reminders_todo_due_kind UNIQUE (todo_id, due_date, kind)
+);
+
+ALTER SEQUENCE todo_reminders_id_seq INCREMENT BY 50;
+
+-- Only undelivered reminders are indexed, so claiming the next batch stays cheap
+-- however many delivered reminders pile up.
+CREATE INDEX idx_todo_reminders_pending ON todo_reminders (id) WHERE status = 'PENDING';
+
+-- Open todos by due date. Covers the reminder scan, which reads only due_date and id,
+-- and leaves out completed and cancelled todos along with todos without a due date.
+CREATE INDEX idx_todos_open_due_date ON todos (due_date, id)
+    WHERE status IN ('PENDING', 'IN_PROGRESS') AND due_date IS NOT NULL;
+
+-- One row per reminder kind; a node scans for a kind only while holding its row lock.
+CREATE TABLE todo_reminder_scans (
+    kind VARCHAR(20) PRIMARY KEY,
+    scanned_at TIMESTAMP
+);
+
+INSERT INTO todo_reminder_scans (kind) VALUES ('DUE_SOON'), ('OVERDUE');
+
+CREATE OR REPLACE TRIGGER update_todo_reminders_timestamp
+BEFORE UPDATE ON todo_reminders
+FOR EACH ROW
+EXECUTE FUNCTION update_timestamp();
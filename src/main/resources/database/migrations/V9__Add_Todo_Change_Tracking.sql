@@ -0,0 +1,51 @@
+-- Every todo row records the transaction that last wrote it, and every delete leaves a
+-- tombstone, so a client can fetch only what changed since its last sync. Transaction
+-- ids are handed out when a transaction starts, not when it commits, so the change feed
+-- only reads below the oldest still-running transaction (see TodoRepositoryCustom).
+ALTER TABLE todos ADD COLUMN change_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE INDEX idx_todos_user_change ON todos (user_id, change_xid, id);
+
+CREATE OR REPLACE FUNCTION touch_todo_change_xid()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_xid = pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER touch_todos_change_xid
+BEFORE UPDATE ON todos
+FOR EACH ROW
+EXECUTE FUNCTION touch_todo_change_xid();
+
+-- No foreign key to users: the tombstones of a deleted user's todos are written while
+-- the user row is going away, and are purged with the rest once they expire.
+CREATE TABLE todo_tombstones (
+    todo_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    change_xid xid8 NOT NULL DEFAULT pg_current_xact_id(),
+    deleted_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_todo_tombstones_user_change ON todo_tombstones (user_id, change_xid, todo_id);
+CREATE INDEX idx_todo_tombstones_deleted_at ON todo_tombstones (deleted_at);
+
+CREATE OR REPLACE FUNCTION record_todo_tombstones()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO todo_tombstones (todo_id, user_id)
+    SELECT id, user_id FROM old_rows
+    ON CONFLICT (todo_id) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER record_todos_tombstones
+AFTER DELETE ON todos
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION record_todo_tombstones();
+
+COMMENT ON COLUMN todos.change_xid IS 'Transaction that last inserted or updated the todo';
+COMMENT ON TABLE todo_tombstones IS 'Deleted todos, kept for delta sync until they expire';
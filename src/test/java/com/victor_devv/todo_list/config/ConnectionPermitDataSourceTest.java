@@ -0,0 +1,75 @@
+package com.victor_devv.todo_list.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPermitDataSourceTest {
+
+    @Mock private DataSource pool;
+    @Mock private Connection connection;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testGetConnection_releasesPermitOnceWhenClosed() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, "test", 2, 10, 100, meterRegistry);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(1, dataSource.availablePermits());
+
+        first.close();
+        first.close();
+
+        assertEquals(2, dataSource.availablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void testGetConnection_whenNoWaitingAllowed_failsFast() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, "test", 1, 0, 10_000, meterRegistry);
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    void testGetConnection_whenTimedOut_recordsWait() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, "test", 1, 10, 20, meterRegistry);
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(2, meterRegistry.get(ConnectionPermitDataSource.WAIT_METRIC).timer().count());
+        assertEquals(0, meterRegistry.get(ConnectionPermitDataSource.WAITING_METRIC).gauge().value());
+    }
+
+    @Test
+    void testGetConnection_whenPoolFails_returnsPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, "test", 1, 10, 100, meterRegistry);
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
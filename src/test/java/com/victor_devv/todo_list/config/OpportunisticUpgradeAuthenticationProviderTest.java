@@ -0,0 +1,82 @@
+package com.victor_devv.todo_list.config;
+
+import com.victor_devv.todo_list.domain.entity.Role;
+import com.victor_devv.todo_list.domain.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OpportunisticUpgradeAuthenticationProviderTest {
+
+    @Mock private UserDetailsService userDetailsService;
+    @Mock private UserDetailsPasswordService userDetailsPasswordService;
+    @Mock private PasswordEncoder passwordEncoder;
+
+    private OpportunisticUpgradeAuthenticationProvider provider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        provider = new OpportunisticUpgradeAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
+        user = User.builder().id(1L).email("john@victordevv.com").password("old-hash").role(Role.USER).build();
+        when(userDetailsService.loadUserByUsername("john@victordevv.com")).thenReturn(user);
+        // hashed once up front to time a lookup of an unknown user like a known one
+        when(passwordEncoder.encode("userNotFoundPassword")).thenReturn("unknown-user-hash");
+    }
+
+    @Test
+    void testAuthenticate_whenUpgradeHashIsRejected_stillLogsIn() {
+        when(passwordEncoder.matches("password123", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("password123"))
+                .thenThrow(new PasswordHashingRejectedException("Too many password hashing requests waiting"));
+
+        Authentication result = provider.authenticate(login("password123"));
+
+        assertTrue(result.isAuthenticated());
+        assertSame(user, result.getPrincipal());
+        assertEquals(user.getAuthorities(), result.getAuthorities());
+        verifyNoInteractions(userDetailsPasswordService);
+    }
+
+    @Test
+    void testAuthenticate_whenUpgradeHashSucceeds_storesIt() {
+        when(passwordEncoder.matches("password123", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("new-hash");
+        when(userDetailsPasswordService.updatePassword(user, "new-hash")).thenReturn(user);
+
+        Authentication result = provider.authenticate(login("password123"));
+
+        assertTrue(result.isAuthenticated());
+        verify(userDetailsPasswordService).updatePassword(user, "new-hash");
+    }
+
+    @Test
+    void testAuthenticate_whenPasswordIsWrong_neverUpgrades() {
+        when(passwordEncoder.matches("wrong", "old-hash")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("wrong")));
+        verify(passwordEncoder, never()).encode("wrong");
+        verifyNoInteractions(userDetailsPasswordService);
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("john@victordevv.com", password);
+    }
+}
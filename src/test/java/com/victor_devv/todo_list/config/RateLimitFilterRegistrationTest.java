@@ -0,0 +1,27 @@
+package com.victor_devv.todo_list.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletContextInitializerBeans;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RateLimitFilterRegistrationTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void rateLimitFilter_shouldOnlyRunInsideTheSecurityChain() {
+        assertThat(new ServletContextInitializerBeans(context.getBeanFactory()).stream()
+                .filter(FilterRegistrationBean.class::isInstance)
+                .map(FilterRegistrationBean.class::cast)
+                .filter(FilterRegistrationBean::isEnabled)
+                .map(FilterRegistrationBean::getFilter))
+                .noneMatch(RateLimitFilter.class::isInstance);
+    }
+}
@@ -0,0 +1,93 @@
+package com.victor_devv.todo_list.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.victor_devv.todo_list.config.jwt.JwtPrincipal;
+import com.victor_devv.todo_list.config.jwt.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(Map.of(
+                "login", new RateLimitProperties.Group(List.of("/api/v1/auth/**"), 1, 1, Duration.ofMinutes(1), RateLimitProperties.Key.IP),
+                "api", new RateLimitProperties.Group(List.of("/api/v1/**"), 2, 1, Duration.ofMinutes(1), RateLimitProperties.Key.USER)
+        ));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void testDoFilter_overLimit_returns429WithRetryAfter() throws Exception {
+        assertEquals(200, send(request("/api/v1/auth/login", "10.0.0.1")).getStatus());
+
+        MockHttpServletResponse response = send(request("/api/v1/auth/login", "10.0.0.1"));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("60", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("Too many requests"));
+        assertEquals(1, meterRegistry.get(RateLimitFilter.REJECTED_METRIC).tag("group", "login").counter().count());
+    }
+
+    @Test
+    void testDoFilter_mostSpecificGroupWins() throws Exception {
+        send(request("/api/v1/auth/login", "10.0.0.1"));
+
+        assertEquals(200, send(request("/api/v1/todos", "10.0.0.1")).getStatus());
+        assertEquals(429, send(request("/api/v1/auth/login", "10.0.0.1")).getStatus());
+    }
+
+    @Test
+    void testDoFilter_countsAuthenticatedRequestsPerUser() throws Exception {
+        send(withUser(request("/api/v1/todos", "10.0.0.1"), 1L));
+        send(withUser(request("/api/v1/todos", "10.0.0.2"), 1L));
+
+        assertEquals(429, send(withUser(request("/api/v1/todos", "10.0.0.3"), 1L)).getStatus());
+        assertEquals(200, send(withUser(request("/api/v1/todos", "10.0.0.1"), 2L)).getStatus());
+        assertEquals(200, send(request("/api/v1/todos", "10.0.0.1")).getStatus());
+    }
+
+    @Test
+    void testDoFilter_unmatchedPath_isNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send(request("/actuator/health", "10.0.0.1")).getStatus());
+        }
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static MockHttpServletRequest withUser(MockHttpServletRequest request, Long userId) {
+        Claims claims = new DefaultClaims();
+        claims.put(JwtPrincipal.USER_ID_CLAIM, userId);
+        request.setAttribute(JwtService.CLAIMS_ATTRIBUTE, claims);
+        return request;
+    }
+}
@@ -0,0 +1,48 @@
+package com.victor_devv.todo_list.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTryAcquire_allowsBurstUpToCapacityThenRefills() {
+        RateLimiter limiter = new RateLimiter(3, 1, Duration.ofSeconds(1), 100, Duration.ofMinutes(1));
+
+        assertEquals(0, limiter.tryAcquire("key", 0));
+        assertEquals(0, limiter.tryAcquire("key", 0));
+        assertEquals(0, limiter.tryAcquire("key", 0));
+        assertEquals(SECOND, limiter.tryAcquire("key", 0));
+
+        assertEquals(SECOND / 2, limiter.tryAcquire("key", SECOND / 2));
+        assertEquals(0, limiter.tryAcquire("key", SECOND));
+        assertTrue(limiter.tryAcquire("key", SECOND) > 0);
+    }
+
+    @Test
+    void testTryAcquire_keepsBucketsApart() {
+        RateLimiter limiter = new RateLimiter(1, 1, Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+
+        assertEquals(0, limiter.tryAcquire(1L, 0));
+        assertTrue(limiter.tryAcquire(1L, 0) > 0);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", 0));
+        assertEquals(2, limiter.estimatedSize());
+    }
+
+    @Test
+    void testTryAcquire_fullBucketDoesNotSaveUpBeyondCapacity() {
+        RateLimiter limiter = new RateLimiter(2, 1, Duration.ofSeconds(1), 100, Duration.ofMinutes(1));
+        limiter.tryAcquire("key", 0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, limiter.tryAcquire("key", later));
+        assertEquals(0, limiter.tryAcquire("key", later));
+        assertTrue(limiter.tryAcquire("key", later) > 0);
+    }
+}
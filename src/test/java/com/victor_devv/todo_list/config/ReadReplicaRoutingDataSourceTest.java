@@ -0,0 +1,166 @@
+package com.victor_devv.todo_list.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes between two in-memory H2 databases, each holding a row that names it.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReadReplicaRoutingDataSource router;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = pool("primary");
+        replica = pool("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        router.close();
+        primary.close();
+    }
+
+    @Test
+    void testReadOnlyTransaction_goesToReplica() {
+        route(Duration.ZERO);
+
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+        assertEquals("primary", readWrite.execute(status -> databaseName()));
+        assertEquals("primary", databaseName());
+        assertEquals(1, meterRegistry.get(ReadReplicaRoutingDataSource.ROUTED_METRIC)
+                .tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void testReadOnlyTransaction_onPrimary_goesToPrimaryWithoutStickiness() {
+        route(Duration.ofMinutes(1));
+        signIn("syncer@victordevv.com");
+
+        assertEquals("primary", ReadReplicaRoutingDataSource.onPrimary(
+                () -> readOnly.execute(status -> databaseName())));
+        assertEquals("primary", readOnly.execute(status ->
+                ReadReplicaRoutingDataSource.onPrimary(this::databaseName)));
+
+        assertFalse(ReadReplicaRoutingDataSource.isOnPrimary());
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+    }
+
+    @Test
+    void testReadOnlyTransaction_whenUserWroteRecently_staysOnPrimary() {
+        route(Duration.ofMinutes(1));
+        signIn("writer@victordevv.com");
+
+        readWrite.executeWithoutResult(status -> databaseName());
+
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+        signIn("reader@victordevv.com");
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+    }
+
+    @Test
+    void testReadOnlyTransaction_whenWriteRolledBack_goesToReplica() {
+        route(Duration.ofMinutes(1));
+        signIn("writer@victordevv.com");
+
+        readWrite.executeWithoutResult(status -> {
+            databaseName();
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+    }
+
+    @Test
+    void testReadOnlyTransaction_throughWrappedReplica_holdsItsPermit() {
+        ConnectionPermitDataSource permits = new ConnectionPermitDataSource(replica, "replica", 1, 0, 100, meterRegistry);
+        route(Duration.ZERO, permits);
+
+        int availableDuringTransaction = readOnly.execute(status -> {
+            databaseName();
+            return permits.availablePermits();
+        });
+
+        assertEquals(0, availableDuringTransaction);
+        assertEquals(1, permits.availablePermits());
+        assertEquals(1, meterRegistry.get(ReadReplicaRoutingDataSource.ROUTED_METRIC)
+                .tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void testReadOnlyTransaction_whenReplicaUnhealthy_fallsBackToPrimary() {
+        route(Duration.ZERO);
+        replica.close();
+
+        router.checkHealth();
+
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+        assertEquals(0, meterRegistry.get(ReadReplicaRoutingDataSource.HEALTHY_METRIC)
+                .tag("target", "replica").gauge().value());
+    }
+
+    private void route(Duration stickiness) {
+        route(stickiness, replica);
+    }
+
+    private void route(Duration stickiness, DataSource replicaDataSource) {
+        router = new ReadReplicaRoutingDataSource(
+                primary,
+                List.of(replicaDataSource),
+                ReadReplicaProperties.Strategy.ROUND_ROBIN,
+                stickiness,
+                Duration.ofHours(1),
+                meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(router);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM database_name", String.class);
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS database_name (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM database_name");
+        jdbcTemplate.update("INSERT INTO database_name VALUES (?)", name);
+        return pool;
+    }
+}
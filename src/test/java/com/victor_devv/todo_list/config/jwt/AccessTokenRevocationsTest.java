@@ -0,0 +1,87 @@
+package com.victor_devv.todo_list.config.jwt;
+
+import com.victor_devv.todo_list.domain.entity.RefreshToken;
+import com.victor_devv.todo_list.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenRevocationsTest {
+
+    @Mock private RefreshTokenRepository refreshTokenRepository;
+
+    private AccessTokenRevocations revocations;
+
+    @BeforeEach
+    void setUp() {
+        revocations = new AccessTokenRevocations(refreshTokenRepository, 1024, 60_000, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testIsRevoked_onlyForRevokedUnexpiredTokens() {
+        String jti = UUID.randomUUID().toString();
+        revocations.revoke(jti, LocalDateTime.now().plusMinutes(5));
+
+        assertTrue(revocations.isRevoked(jti));
+        assertFalse(revocations.isRevoked(UUID.randomUUID().toString()));
+        assertFalse(revocations.isRevoked(null));
+    }
+
+    @Test
+    void testRevoke_whenAlreadyExpired_isIgnored() {
+        revocations.revoke("expired", LocalDateTime.now().minusSeconds(1));
+
+        assertFalse(revocations.isRevoked("expired"));
+        assertEquals(0, revocations.size());
+    }
+
+    @Test
+    void testEvictExpired_keepsUnexpiredTokens() throws InterruptedException {
+        revocations.revoke("short-lived", LocalDateTime.now().plusNanos(20_000_000));
+        revocations.revoke("long-lived", LocalDateTime.now().plusMinutes(5));
+        Thread.sleep(50);
+
+        revocations.evictExpired();
+
+        assertEquals(1, revocations.size());
+        assertFalse(revocations.isRevoked("short-lived"));
+        assertTrue(revocations.isRevoked("long-lived"));
+    }
+
+    @Test
+    void testPoll_addsTokensRevokedOnOtherNodes() {
+        RefreshToken token = RefreshToken.builder()
+                .accessJti("revoked-elsewhere")
+                .accessExpiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+        when(refreshTokenRepository.findAccessRevokedSince(any(), any())).thenReturn(List.of(token));
+
+        revocations.poll();
+
+        assertTrue(revocations.isRevoked("revoked-elsewhere"));
+    }
+
+    @Test
+    void testBloomFilter_hasNoFalseNegatives() {
+        AccessTokenRevocations.BloomFilter filter = new AccessTokenRevocations.BloomFilter(4096);
+        List<String> values = IntStream.range(0, 200)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+        values.forEach(filter::add);
+
+        assertTrue(values.stream().allMatch(filter::mightContain));
+    }
+}
@@ -0,0 +1,92 @@
+package com.victor_devv.todo_list.config.jwt;
+
+import com.victor_devv.todo_list.domain.entity.Role;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtPrincipalResolverTest {
+
+    @Mock private UserDetailsService userDetailsService;
+    @Mock private UserRepository userRepository;
+
+    private Claims claims;
+
+    @BeforeEach
+    void setUp() {
+        claims = new DefaultClaims();
+        claims.setSubject("john@victordevv.com");
+        claims.put(JwtPrincipal.USER_ID_CLAIM, 1);
+        claims.put(JwtPrincipal.AUTHORITIES_CLAIM, List.of(Map.of("authority", "USER")));
+    }
+
+    @Test
+    void testResolve_whenStatelessDisabled_loadsUserDetails() {
+        User user = User.builder().id(1L).email("john@victordevv.com").role(Role.USER).build();
+        when(userDetailsService.loadUserByUsername("john@victordevv.com")).thenReturn(user);
+
+        UserDetails result = resolver(false).resolve(claims);
+
+        assertSame(user, result);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testResolve_whenStateless_buildsPrincipalFromClaims() {
+        when(userRepository.findEmailById(1L)).thenReturn(Optional.of("john@victordevv.com"));
+        JwtPrincipalResolver resolver = resolver(true);
+
+        UserDetails first = resolver.resolve(claims);
+        UserDetails second = resolver.resolve(claims);
+
+        JwtPrincipal principal = assertInstanceOf(JwtPrincipal.class, first);
+        assertEquals(1L, principal.id());
+        assertEquals("john@victordevv.com", principal.getUsername());
+        assertEquals(List.of("USER"), principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findEmailById(1L);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testResolve_afterRevocationSignalled_revalidatesAgainstDatabase() {
+        when(userRepository.findEmailById(1L)).thenReturn(Optional.of("john@victordevv.com"), Optional.empty());
+        JwtPrincipalResolver resolver = resolver(true);
+
+        resolver.resolve(claims);
+        resolver.signalRevocation(1L);
+
+        assertThrows(UsernameNotFoundException.class, () -> resolver.resolve(claims));
+        verify(userRepository, times(2)).findEmailById(1L);
+    }
+
+    @Test
+    void testResolve_whenEmailChanged_throwsException() {
+        when(userRepository.findEmailById(1L)).thenReturn(Optional.of("jane@victordevv.com"));
+
+        assertThrows(UsernameNotFoundException.class, () -> resolver(true).resolve(claims));
+    }
+
+    private JwtPrincipalResolver resolver(boolean stateless) {
+        return new JwtPrincipalResolver(userDetailsService, userRepository, stateless, Duration.ofMinutes(5), 100);
+    }
+}
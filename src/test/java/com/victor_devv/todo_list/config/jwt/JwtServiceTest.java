@@ -0,0 +1,91 @@
+package com.victor_devv.todo_list.config.jwt;
+
+import com.victor_devv.todo_list.domain.entity.Role;
+import com.victor_devv.todo_list.domain.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtClaimsCache claimsCache;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        claimsCache = new JwtClaimsCache(100, meterRegistry);
+        jwtService = newJwtService(claimsCache, 60_000);
+
+        user = User.builder()
+                .id(1L)
+                .username("johndoe")
+                .email("john@victordevv.com")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    void extractAllClaims_shouldVerifyTokenOnlyOnce() {
+        String token = jwtService.generateToken(Map.of("user_id", 1L), user);
+
+        assertThat(jwtService.extractUsername(token)).isEqualTo("john@victordevv.com");
+        assertThat(jwtService.extractUserId(token)).isEqualTo(1L);
+        assertThat(jwtService.isTokenValid(token, user)).isTrue();
+
+        assertThat(cacheRequests("miss")).isEqualTo(1);
+        assertThat(cacheRequests("hit")).isEqualTo(2);
+    }
+
+    @Test
+    void extractAllClaims_shouldReuseClaimsAttachedToRequest() {
+        String token = jwtService.generateToken(Map.of("user_id", 1L), user);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        Claims claims = jwtService.extractAllClaims(request);
+
+        assertThat(request.getAttribute(JwtService.CLAIMS_ATTRIBUTE)).isSameAs(claims);
+        assertThat(jwtService.extractUserId(request)).isEqualTo(1L);
+        assertThat(cacheRequests("miss") + cacheRequests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void extractAllClaims_shouldNotCacheExpiredToken() {
+        JwtService expiredTokenIssuer = newJwtService(claimsCache, -1_000);
+        String token = expiredTokenIssuer.generateToken(Map.of("user_id", 1L), user);
+
+        assertThatThrownBy(() -> jwtService.extractAllClaims(token))
+                .isInstanceOf(ExpiredJwtException.class);
+        assertThat(claimsCache.estimatedSize()).isZero();
+    }
+
+    private double cacheRequests(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", JwtClaimsCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static JwtService newJwtService(JwtClaimsCache claimsCache, long expiration) {
+        JwtService service = new JwtService(claimsCache);
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(service, "refreshExpiration", expiration);
+        service.init();
+        return service;
+    }
+}
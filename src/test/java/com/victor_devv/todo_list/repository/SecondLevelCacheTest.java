@@ -0,0 +1,149 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Commits its data, since the second-level cache is only filled once a transaction has
+ * committed, and removes it again afterwards.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = TestUsers.save(userRepository, "cached");
+        other = TestUsers.save(userRepository, "bystander");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(other.getId());
+    }
+
+    @Test
+    void findByEmail_shouldAnswerRepeatLookupsFromTheCache() {
+        userRepository.findByEmail("cached@victordevv.com");
+        statistics.clear();
+
+        assertThat(userRepository.findByEmail("cached@victordevv.com"))
+                .map(User::getId)
+                .contains(owner.getId());
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void findByUserId_shouldServeRepeatsFromTheQueryCacheUntilATodoChanges() {
+        Todo todo = todoRepository.save(Todo.builder()
+                .title("Buy groceries")
+                .priority(Todo.Priority.MEDIUM)
+                .status(Todo.Status.PENDING)
+                .user(owner)
+                .build());
+        assertThat(entityManagerFactory.getCache().contains(Todo.class, todo.getId())).isTrue();
+
+        todoRepository.findByUserId(owner.getId(), PageRequest.of(0, 20));
+        statistics.clear();
+        todoRepository.findByUserId(owner.getId(), PageRequest.of(0, 20));
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> todoRepository.transitionStatus(
+                todo.getId(), owner.getId(), null, Todo.Status.COMPLETED, LocalDateTime.now()));
+
+        Page<TodoDto> page = todoRepository.findByUserId(owner.getId(), PageRequest.of(0, 20));
+        assertThat(page.getContent()).extracting(TodoDto::getStatus).containsExactly("COMPLETED");
+    }
+
+    @Test
+    void singleTodoWrites_shouldOnlyEvictTheWrittenTodo() {
+        Todo completed = saveTodo(owner, "Buy groceries");
+        Todo deleted = saveTodo(owner, "Call mom");
+        Todo untouched = saveTodo(other, "Water plants");
+        assertThat(entityManagerFactory.getCache().contains(Todo.class, untouched.getId())).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> todoRepository.transitionStatus(
+                completed.getId(), owner.getId(), null, Todo.Status.COMPLETED, LocalDateTime.now()));
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(todoRepository.deleteOwned(deleted.getId(), owner.getId(), null)).isTrue());
+
+        assertThat(entityManagerFactory.getCache().contains(Todo.class, deleted.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Todo.class, untouched.getId())).isTrue();
+    }
+
+    @Test
+    void singleTodoWrites_shouldCheckOwnerAndVersionAndLeaveNothingStaleCached() {
+        Todo todo = saveTodo(owner, "Buy groceries");
+        Integer version = todo.getVersion();
+
+        assertThat(complete(todo, other, null)).isEmpty();
+        assertThat(complete(todo, owner, version + 1)).isEmpty();
+        Todo completed = complete(todo, owner, version).orElseThrow();
+
+        assertThat(completed.getVersion()).isEqualTo(version + 1);
+        assertThat(completed.getCompletedAt()).isNotNull();
+        assertThat(todoRepository.findById(todo.getId())).map(Todo::getStatus).contains(Todo.Status.COMPLETED);
+
+        assertThat(delete(todo, other, null)).isFalse();
+        assertThat(delete(todo, owner, version)).isFalse();
+        assertThat(delete(todo, owner, version + 1)).isTrue();
+        assertThat(todoRepository.findById(todo.getId())).isEmpty();
+    }
+
+    private Optional<Todo> complete(Todo todo, User user, Integer expectedVersion) {
+        return transactionTemplate.execute(status -> todoRepository.transitionStatus(
+                todo.getId(), user.getId(), expectedVersion, Todo.Status.COMPLETED, LocalDateTime.now()));
+    }
+
+    private boolean delete(Todo todo, User user, Integer expectedVersion) {
+        Boolean deleted = transactionTemplate.execute(status ->
+                todoRepository.deleteOwned(todo.getId(), user.getId(), expectedVersion));
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    private Todo saveTodo(User user, String title) {
+        return todoRepository.save(Todo.builder()
+                .title(title)
+                .priority(Todo.Priority.MEDIUM)
+                .status(Todo.Status.PENDING)
+                .user(user)
+                .build());
+    }
+}
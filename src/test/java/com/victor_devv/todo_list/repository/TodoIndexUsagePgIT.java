@@ -0,0 +1,210 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.TodoFilter;
+import com.victor_devv.todo_list.domain.dto.TodoSort;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.support.PostgresIT;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the owner-scoped queries are planned against the V5 and V12 indexes rather
+ * than a scan. The statements are the ones Hibernate sends, captured as they are prepared,
+ * and are explained as generic plans: what PostgreSQL runs once the driver has switched a
+ * statement to a server-side prepared one, where bound values can't steer the plan.
+ */
+@PostgresIT
+class TodoIndexUsagePgIT {
+
+    private static final String USER_PREFIX = "index-user-";
+    private static final int USERS = 20;
+    private static final int TODOS = 20_000;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CapturedStatements statements;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role)"
+                + " SELECT ? || x, ? || x || '@victordevv.com', 'x', 'USER' FROM generate_series(1, ?) AS x",
+                USER_PREFIX, USER_PREFIX, USERS);
+        // Four in five todos are done, so the open ones are the small working set V5 assumes.
+        jdbcTemplate.update("INSERT INTO todos (title, priority, status, due_date, user_id, created_at)"
+                + " SELECT 'todo ' || x,"
+                + " (ARRAY['LOW', 'MEDIUM', 'HIGH', 'URGENT'])[x % 4 + 1],"
+                + " (ARRAY['PENDING', 'IN_PROGRESS', 'COMPLETED', 'COMPLETED', 'COMPLETED',"
+                + "        'COMPLETED', 'COMPLETED', 'COMPLETED', 'COMPLETED', 'CANCELLED'])[x % 10 + 1],"
+                + " TIMESTAMP '2025-01-01 00:00:00' + (x % 365) * INTERVAL '1 day',"
+                + " u.id, NOW() - x * INTERVAL '1 minute'"
+                + " FROM generate_series(1, ?) AS x"
+                + " JOIN users u ON u.username = ? || (x % ? + 1)",
+                TODOS, USER_PREFIX, USERS);
+        jdbcTemplate.execute("ANALYZE todos");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, USER_PREFIX + 1);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        String users = "SELECT id FROM users WHERE username LIKE '" + USER_PREFIX + "%'";
+        jdbcTemplate.update("DELETE FROM todos WHERE user_id IN (" + users + ")");
+        jdbcTemplate.update("DELETE FROM todo_tombstones WHERE user_id IN (" + users + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE '" + USER_PREFIX + "%'");
+    }
+
+    @Test
+    void filterByStatus_usesUserStatusDueIndex() {
+        String plan = plan(() -> todoRepository.findByUserIdAndStatus(
+                userId, Todo.Status.PENDING, PageRequest.of(0, 20, Sort.by("dueDate"))));
+
+        assertThat(plan).containsPattern("idx_todos_user_status_due\\b");
+    }
+
+    @Test
+    void filterByPriority_usesUserPriorityIndex() {
+        TodoFilter filter = TodoFilter.builder().priority("HIGH").build();
+
+        String plan = plan(() -> todoRepository.findAllDtos(
+                TodoSpecifications.matching(userId, filter), PageRequest.of(0, 20, Sort.by("id"))));
+
+        assertThat(plan).containsPattern("idx_todos_user_priority\\b");
+    }
+
+    @Test
+    void filterByDueRange_usesUserDueIndex() {
+        TodoFilter filter = TodoFilter.builder()
+                .dueFrom(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .dueTo(LocalDateTime.of(2025, 2, 1, 0, 0))
+                .build();
+
+        String plan = plan(() -> todoRepository.findAllDtos(
+                TodoSpecifications.matching(userId, filter), PageRequest.of(0, 20, Sort.by("dueDate", "id"))));
+
+        assertThat(plan).containsPattern("idx_todos_user_due\\b");
+    }
+
+    @Test
+    void scrollByDueDate_usesUserDueIndex() {
+        String plan = plan(() -> todoRepository.findPageByUserId(userId, TodoSort.DUE_DATE, Sort.Direction.ASC, null, 21));
+
+        assertThat(plan).containsPattern("idx_todos_user_due\\b");
+    }
+
+    @Test
+    void scrollByPriority_usesUserPriorityRankIndex() {
+        String plan = plan(() -> todoRepository.findPageByUserId(userId, TodoSort.PRIORITY, Sort.Direction.DESC, null, 21));
+
+        assertThat(plan).containsPattern("idx_todos_user_priority_rank\\b");
+    }
+
+    @Test
+    void scrollByCreatedAt_usesUserCreatedIndex() {
+        String plan = plan(() -> todoRepository.findPageByUserId(userId, TodoSort.CREATED_AT, Sort.Direction.DESC, null, 21));
+
+        assertThat(plan).containsPattern("idx_todos_user_created\\b");
+    }
+
+    @Test
+    void countOverdue_usesPartialOpenDueIndex() {
+        String plan = plan(() -> todoRepository.findStats(userId, LocalDateTime.of(2025, 3, 1, 0, 0)), "count(");
+
+        assertThat(plan).containsPattern("idx_todos_open_due\\b");
+    }
+
+    private String plan(Runnable query) {
+        return plan(query, "");
+    }
+
+    /**
+     * Runs {@code query} and explains the first statement it sent that contains
+     * {@code marker}, with its JDBC placeholders turned into PostgreSQL's numbered ones.
+     */
+    private String plan(Runnable query, String marker) {
+        String sql = statements.capture(query).stream()
+                .filter(statement -> statement.contains(marker))
+                .findFirst()
+                .orElseThrow();
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numbered, String.class));
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StatementCaptureConfig {
+
+        @Bean
+        CapturedStatements capturedStatements() {
+            return new CapturedStatements();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureHibernatePropertiesCustomizer(CapturedStatements statements) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statements);
+        }
+    }
+
+    /**
+     * Records the SQL prepared on the calling thread while {@link #capture} runs, leaving
+     * out whatever the schedulers send meanwhile.
+     */
+    static class CapturedStatements implements StatementInspector {
+
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        List<String> capture(Runnable work) {
+            List<String> sql = new ArrayList<>();
+            captured.set(sql);
+            try {
+                work.run();
+            } finally {
+                captured.remove();
+            }
+            return sql;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> sink = captured.get();
+            if (sink != null) {
+                sink.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.PageCursor;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoSort;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks the keyset pages two todos at a time, so every page after the first goes
+ * through the seek predicate, including across ties and null due dates.
+ */
+@SpringBootTest
+@Transactional
+class TodoScrollTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 1, 15, 12, 0);
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = TestUsers.save(userRepository, "scroller");
+    }
+
+    @Test
+    void findPageByUserId_byPriority_shouldOrderByRankNotName() {
+        Todo high = saveTodo(Todo.Priority.HIGH, null);
+        Todo low = saveTodo(Todo.Priority.LOW, null);
+        Todo urgent = saveTodo(Todo.Priority.URGENT, null);
+        Todo medium = saveTodo(Todo.Priority.MEDIUM, null);
+        Todo secondLow = saveTodo(Todo.Priority.LOW, null);
+
+        assertThat(scroll(TodoSort.PRIORITY, Sort.Direction.ASC))
+                .containsExactly(low.getId(), secondLow.getId(), medium.getId(), high.getId(), urgent.getId());
+        assertThat(scroll(TodoSort.PRIORITY, Sort.Direction.DESC))
+                .containsExactly(urgent.getId(), high.getId(), medium.getId(), secondLow.getId(), low.getId());
+    }
+
+    @Test
+    void findPageByUserId_byDueDate_shouldPutNullDueDatesLastAscendingAndFirstDescending() {
+        Todo undated = saveTodo(Todo.Priority.LOW, null);
+        Todo later = saveTodo(Todo.Priority.LOW, NOON.plusDays(1));
+        Todo secondUndated = saveTodo(Todo.Priority.LOW, null);
+        Todo earlier = saveTodo(Todo.Priority.LOW, NOON);
+        Todo sameDay = saveTodo(Todo.Priority.LOW, NOON);
+
+        assertThat(scroll(TodoSort.DUE_DATE, Sort.Direction.ASC))
+                .containsExactly(earlier.getId(), sameDay.getId(), later.getId(), undated.getId(), secondUndated.getId());
+        assertThat(scroll(TodoSort.DUE_DATE, Sort.Direction.DESC))
+                .containsExactly(secondUndated.getId(), undated.getId(), later.getId(), sameDay.getId(), earlier.getId());
+    }
+
+    private List<Long> scroll(TodoSort sort, Sort.Direction direction) {
+        List<Long> ids = new ArrayList<>();
+        PageCursor after = null;
+        List<TodoDto> page;
+        do {
+            page = todoRepository.findPageByUserId(owner.getId(), sort, direction, after, 2);
+            page.forEach(todo -> ids.add(todo.getId()));
+            if (!page.isEmpty()) {
+                TodoDto last = page.get(page.size() - 1);
+                after = new PageCursor(sort.getParameter(), direction, sort.keyOf(last), last.getId());
+            }
+        } while (page.size() == 2);
+        return ids;
+    }
+
+    private Todo saveTodo(Todo.Priority priority, LocalDateTime dueDate) {
+        return todoRepository.save(Todo.builder()
+                .title(priority + " todo")
+                .priority(priority)
+                .status(Todo.Status.PENDING)
+                .dueDate(dueDate)
+                .user(owner)
+                .build());
+    }
+}
@@ -0,0 +1,102 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.PageCursor;
+import com.victor_devv.todo_list.domain.dto.TodoSearchHit;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against H2 through the portable fallback, whose ranks only approximate ts_rank,
+ * so the assertions stick to which todos match and to paging, not to their order.
+ */
+@SpringBootTest
+@Transactional
+class TodoSearchTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = TestUsers.save(userRepository, "searcher");
+        User other = TestUsers.save(userRepository, "someone-else");
+
+        saveTodo(owner, "Buy groceries", "milk, eggs and bread");
+        saveTodo(owner, "Call the plumber", "kitchen sink is leaking; buy new washers");
+        saveTodo(owner, "Plan holiday", null);
+        saveTodo(other, "Buy groceries for the party", null);
+    }
+
+    @Test
+    void search_shouldMatchTitlesAndDescriptionsOfTheUsersTodos() {
+        List<TodoSearchHit> hits = todoRepository.search(owner.getId(), List.of("buy"), null, 10);
+
+        assertThat(hits).extracting(hit -> hit.todo().getTitle())
+                .containsExactlyInAnyOrder("Buy groceries", "Call the plumber");
+        assertThat(hits).extracting(hit -> hit.todo().getUsername()).containsOnly("searcher");
+    }
+
+    @Test
+    void search_shouldMatchWordPrefixesOnly() {
+        assertThat(todoRepository.search(owner.getId(), List.of("gro"), null, 10))
+                .extracting(hit -> hit.todo().getTitle())
+                .containsExactly("Buy groceries");
+        assertThat(todoRepository.search(owner.getId(), List.of("ceries"), null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldRequireEveryTerm() {
+        assertThat(todoRepository.search(owner.getId(), List.of("buy", "wash"), null, 10))
+                .extracting(hit -> hit.todo().getTitle())
+                .containsExactly("Call the plumber");
+    }
+
+    @Test
+    void search_shouldPageThroughEveryMatchOnceAfterCursor() {
+        List<Long> reviews = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            reviews.add(saveTodo(owner, "Review chapter " + i, null).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        PageCursor after = null;
+        List<TodoSearchHit> page;
+        do {
+            page = todoRepository.search(owner.getId(), List.of("review"), after, 2);
+            page.forEach(hit -> seen.add(hit.todo().getId()));
+            TodoSearchHit last = page.isEmpty() ? null : page.get(page.size() - 1);
+            after = last == null
+                    ? null
+                    : new PageCursor("rank", Sort.Direction.DESC, Float.toString(last.rank()), last.todo().getId());
+        } while (page.size() == 2);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(reviews);
+    }
+
+    private Todo saveTodo(User user, String title, String description) {
+        return todoRepository.save(Todo.builder()
+                .title(title)
+                .description(description)
+                .priority(Todo.Priority.MEDIUM)
+                .status(Todo.Status.PENDING)
+                .user(user)
+                .build());
+    }
+}
@@ -0,0 +1,98 @@
+package com.victor_devv.todo_list.repository;
+
+import com.victor_devv.todo_list.domain.dto.TodoStats;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Runs against H2, where the counts are grouped on the fly; {@link TodoStatsPgIT} runs the
+ * same checks against the trigger-maintained counters on PostgreSQL.
+ */
+@SpringBootTest
+@Transactional
+class TodoStatsTest {
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    User owner;
+    LocalDateTime now;
+    private Todo overdue;
+    private Todo cancelled;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        owner = TestUsers.save(userRepository, "counted");
+        User other = TestUsers.save(userRepository, "someone-else");
+
+        overdue = saveTodo(owner, Todo.Status.PENDING, Todo.Priority.HIGH, now.minusDays(1));
+        saveTodo(owner, Todo.Status.IN_PROGRESS, Todo.Priority.LOW, now.plusDays(1));
+        saveTodo(owner, Todo.Status.COMPLETED, Todo.Priority.HIGH, now.minusDays(1));
+        cancelled = saveTodo(owner, Todo.Status.CANCELLED, Todo.Priority.MEDIUM, null);
+        saveTodo(owner, Todo.Status.PENDING, Todo.Priority.URGENT, null);
+        saveTodo(other, Todo.Status.PENDING, Todo.Priority.HIGH, now.minusDays(1));
+    }
+
+    @Test
+    void findStats_shouldCountTheUsersTodosByStatusPriorityAndOverdue() {
+        TodoStats stats = todoRepository.findStats(owner.getId(), now);
+
+        assertThat(stats.getTotal()).isEqualTo(5);
+        assertThat(stats.getByStatus()).containsExactly(
+                entry("PENDING", 2L), entry("IN_PROGRESS", 1L), entry("COMPLETED", 1L), entry("CANCELLED", 1L));
+        assertThat(stats.getByPriority()).containsExactly(
+                entry("LOW", 1L), entry("MEDIUM", 1L), entry("HIGH", 2L), entry("URGENT", 1L));
+        assertThat(stats.getOverdue()).isEqualTo(1);
+    }
+
+    @Test
+    void findStats_shouldFollowUpdatesAndDeletes() {
+        overdue.setStatus(Todo.Status.COMPLETED);
+        overdue.setPriority(Todo.Priority.LOW);
+        todoRepository.delete(cancelled);
+        todoRepository.flush();
+
+        TodoStats stats = todoRepository.findStats(owner.getId(), now);
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getByStatus()).containsExactly(
+                entry("PENDING", 1L), entry("IN_PROGRESS", 1L), entry("COMPLETED", 2L), entry("CANCELLED", 0L));
+        assertThat(stats.getByPriority()).containsExactly(
+                entry("LOW", 2L), entry("MEDIUM", 0L), entry("HIGH", 1L), entry("URGENT", 1L));
+        assertThat(stats.getOverdue()).isZero();
+    }
+
+    @Test
+    void findStats_shouldReturnZeroCountsForUserWithoutTodos() {
+        TodoStats stats = todoRepository.findStats(TestUsers.save(userRepository, "idle").getId(), now);
+
+        assertThat(stats.getTotal()).isZero();
+        assertThat(stats.getByStatus()).containsOnlyKeys("PENDING", "IN_PROGRESS", "COMPLETED", "CANCELLED");
+        assertThat(stats.getByStatus().values()).containsOnly(0L);
+    }
+
+    private Todo saveTodo(User user, Todo.Status status, Todo.Priority priority, LocalDateTime dueDate) {
+        return todoRepository.saveAndFlush(Todo.builder()
+                .title("Todo " + status + " " + priority)
+                .priority(priority)
+                .status(status)
+                .dueDate(dueDate)
+                .user(user)
+                .build());
+    }
+}
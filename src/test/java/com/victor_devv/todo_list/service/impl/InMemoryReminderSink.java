@@ -0,0 +1,32 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.domain.dto.TodoReminderNotification;
+import com.victor_devv.todo_list.service.ReminderSink;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps delivered reminders in memory, or fails every delivery when told to.
+ */
+class InMemoryReminderSink implements ReminderSink {
+
+    private final List<TodoReminderNotification> sent = new CopyOnWriteArrayList<>();
+    private volatile boolean failing;
+
+    @Override
+    public void send(TodoReminderNotification notification) {
+        if (failing) {
+            throw new IllegalStateException("sink unavailable");
+        }
+        sent.add(notification);
+    }
+
+    List<TodoReminderNotification> sentTo(Long userId) {
+        return sent.stream().filter(notification -> notification.userId().equals(userId)).toList();
+    }
+
+    void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+}
@@ -0,0 +1,156 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.config.jwt.JwtService;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoRequest;
+import com.victor_devv.todo_list.domain.entity.TodoEvent;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.repository.TodoEventRepository;
+import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.service.TodoService;
+import com.victor_devv.todo_list.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Commits its writes, since events only reach the stream once their transaction has,
+ * and leaves the scheduled relay to pick them up. Data is removed again afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TodoEventRelayTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoEventOutbox eventOutbox;
+
+    @Autowired
+    private TodoEventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User owner;
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        owner = TestUsers.save(userRepository, "streaming");
+        authorization = "Bearer " + jwtService.generateToken(Map.of("user_id", owner.getId()), owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll(eventsOfOwner());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void writes_shouldEachAppendAnEvent() {
+        TodoDto todo = todoService.create(owner.getEmail(), todoRequest("Buy groceries"));
+        todoService.update(todo.getId(), owner.getId(), null, todoRequest("Buy more groceries"));
+        todoService.markAsCompleted(todo.getId(), owner.getId(), null);
+        todoService.delete(todo.getId(), owner.getId(), null);
+
+        assertThat(eventsOfOwner())
+                .extracting(TodoEvent::getType)
+                .containsExactly(TodoEvent.Type.CREATED, TodoEvent.Type.UPDATED, TodoEvent.Type.COMPLETED, TodoEvent.Type.DELETED);
+    }
+
+    @Test
+    void append_outsideATransaction_shouldBeRefused() {
+        assertThatThrownBy(() -> eventOutbox.appendDeleted(owner.getId(), 1L))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void stream_shouldPushCommittedEventsAndReplayThoseAfterLastEventId() throws Exception {
+        MvcResult live = openStream(null);
+
+        todoService.create(owner.getEmail(), todoRequest("Buy groceries"));
+        todoService.create(owner.getEmail(), todoRequest("Call the plumber"));
+
+        String pushed = awaitContent(live, "Call the plumber");
+        assertThat(pushed).contains("event:created").contains("Buy groceries");
+
+        MvcResult resumed = openStream(eventIds(pushed).getFirst());
+
+        String replayed = awaitContent(resumed, "Call the plumber");
+        assertThat(replayed).doesNotContain("Buy groceries");
+    }
+
+    @Test
+    void stream_resumingAfterAPurgedEvent_shouldBeToldToSync() throws Exception {
+        MvcResult resumed = openStream("0-999999999");
+
+        assertThat(awaitContent(resumed, "event:sync")).contains("data:{}");
+    }
+
+    private MvcResult openStream(String lastEventId) throws Exception {
+        var builder = get("/api/v1/todos/stream").header(HttpHeaders.AUTHORIZATION, authorization);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(25);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private static List<String> eventIds(String content) {
+        return Arrays.stream(content.split("\n"))
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring("id:".length()))
+                .toList();
+    }
+
+    private List<TodoEvent> eventsOfOwner() {
+        return eventRepository.findAll().stream()
+                .filter(event -> event.getUserId().equals(owner.getId()))
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .toList();
+    }
+
+    private static TodoRequest todoRequest(String title) {
+        return TodoRequest.builder()
+                .title(title)
+                .priority("MEDIUM")
+                .status("PENDING")
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.domain.dto.TodoImportRejection;
+import com.victor_devv.todo_list.domain.dto.TodoImportResult;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.repository.TodoRepository;
+import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.service.TodoService;
+import com.victor_devv.todo_list.support.TestUsers;
+import com.victor_devv.todo_list.util.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the batched-insert path on H2; PostgreSQL takes the COPY path with the same
+ * validation and chunking.
+ */
+@SpringBootTest
+@Transactional
+class TodoImportTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = TestUsers.save(userRepository, "importer");
+    }
+
+    @Test
+    void importTodos_shouldInsertValidLinesAndReportRejectedOnes() throws IOException {
+        String body = """
+                {"title": "Buy groceries", "priority": "HIGH", "status": "PENDING", "dueDate": "2025-01-31 09:30:00"}
+                {"title": "Broken",
+
+                {"description": "no title", "priority": "LOW", "status": "PENDING"}
+                {"title": "Call the plumber", "priority": "SOMEDAY", "status": "PENDING"}
+                {"title": "Plan holiday", "priority": "LOW", "status": "COMPLETED"}
+                """;
+
+        TodoImportResult result = todoService.importTodos(owner.getId(), stream(body));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getRejections()).extracting(TodoImportRejection::line).containsExactly(2L, 4L, 5L);
+        assertThat(result.getRejections().get(1).message()).isEqualTo("title is required");
+        assertThat(todoRepository.findByUserId(owner.getId(), PageRequest.of(0, 10)).getContent())
+                .extracting("title")
+                .containsExactlyInAnyOrder("Buy groceries", "Plan holiday");
+    }
+
+    @Test
+    void importTodos_shouldFlushEveryChunk() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < Constants.IMPORT_CHUNK_SIZE + 5; i++) {
+            body.append("{\"title\": \"Todo ").append(i).append("\", \"priority\": \"MEDIUM\", \"status\": \"PENDING\"}\n");
+        }
+
+        TodoImportResult result = todoService.importTodos(owner.getId(), stream(body.toString()));
+
+        assertThat(result.getImported()).isEqualTo(Constants.IMPORT_CHUNK_SIZE + 5);
+        assertThat(result.getRejections()).isEmpty();
+        assertThat(todoRepository.findByUserId(owner.getId(), PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(Constants.IMPORT_CHUNK_SIZE + 5);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
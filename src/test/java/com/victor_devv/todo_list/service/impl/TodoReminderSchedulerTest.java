@@ -0,0 +1,134 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.config.ReminderProperties;
+import com.victor_devv.todo_list.domain.dto.TodoReminderNotification;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.TodoReminder;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.repository.TodoReminderRepository;
+import com.victor_devv.todo_list.repository.TodoReminderScanRepository;
+import com.victor_devv.todo_list.repository.TodoRepository;
+import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Drives a scheduler wired to an in-memory sink; the application's own scheduler is
+ * disabled in the test properties. Data is committed, since the scheduler works in
+ * transactions of its own, and removed again afterwards.
+ */
+@SpringBootTest
+class TodoReminderSchedulerTest {
+
+    @Autowired
+    private TodoReminderRepository reminderRepository;
+
+    @Autowired
+    private TodoReminderScanRepository scanRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final InMemoryReminderSink sink = new InMemoryReminderSink();
+    private final ReminderProperties properties = new ReminderProperties();
+    private TodoReminderScheduler scheduler;
+    private User owner;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxAttempts(2);
+        scheduler = new TodoReminderScheduler(
+                reminderRepository, scanRepository, todoRepository, sink, properties, transactionTemplate);
+        now = LocalDateTime.now();
+        owner = TestUsers.save(userRepository, "reminded");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void poll_shouldRemindOnceOfTodosComingDueAndOverdue() {
+        Todo dueSoon = saveTodo("Call the plumber", Todo.Status.PENDING, now.plusMinutes(30));
+        Todo overdue = saveTodo("Pay rent", Todo.Status.IN_PROGRESS, now.minusHours(1));
+        saveTodo("Plan holiday", Todo.Status.PENDING, now.plusDays(3));
+        saveTodo("Buy groceries", Todo.Status.COMPLETED, now.minusHours(1));
+        saveTodo("Renew passport", Todo.Status.PENDING, now.minusDays(3));
+
+        scheduler.poll(now);
+        scheduler.poll(now);
+
+        assertThat(sink.sentTo(owner.getId()))
+                .extracting(TodoReminderNotification::todoId, TodoReminderNotification::kind)
+                .containsExactlyInAnyOrder(
+                        tuple(dueSoon.getId(), "DUE_SOON"),
+                        tuple(overdue.getId(), "OVERDUE"));
+    }
+
+    @Test
+    void poll_shouldRetryFailedDeliveriesUpToMaxAttempts() {
+        Todo overdue = saveTodo("Pay rent", Todo.Status.PENDING, now.minusHours(1));
+        sink.setFailing(true);
+
+        scheduler.poll(now);
+        assertThat(reminderOf(overdue).getStatus()).isEqualTo(TodoReminder.Status.PENDING);
+        assertThat(reminderOf(overdue).getAttempts()).isEqualTo(1);
+
+        scheduler.poll(now);
+        sink.setFailing(false);
+        scheduler.poll(now);
+
+        assertThat(reminderOf(overdue).getStatus()).isEqualTo(TodoReminder.Status.FAILED);
+        assertThat(sink.sentTo(owner.getId())).isEmpty();
+    }
+
+    @Test
+    void deliver_shouldMarkReminderObsolete_whenTodoCompletedAfterQueueing() {
+        Todo overdue = saveTodo("Pay rent", Todo.Status.PENDING, now.minusHours(1));
+        transactionTemplate.executeWithoutResult(status -> scheduler.enqueue(TodoReminder.Kind.OVERDUE, now));
+
+        overdue.setStatus(Todo.Status.COMPLETED);
+        todoRepository.save(overdue);
+        transactionTemplate.executeWithoutResult(status -> scheduler.deliver(now));
+
+        assertThat(reminderOf(overdue).getStatus()).isEqualTo(TodoReminder.Status.OBSOLETE);
+        assertThat(sink.sentTo(owner.getId())).isEmpty();
+    }
+
+    private TodoReminder reminderOf(Todo todo) {
+        List<TodoReminder> reminders = reminderRepository.findAll().stream()
+                .filter(reminder -> reminder.getTodo().getId().equals(todo.getId()))
+                .toList();
+        assertThat(reminders).hasSize(1);
+        return reminders.get(0);
+    }
+
+    private Todo saveTodo(String title, Todo.Status status, LocalDateTime dueDate) {
+        return todoRepository.save(Todo.builder()
+                .title(title)
+                .priority(Todo.Priority.MEDIUM)
+                .status(status)
+                .dueDate(dueDate)
+                .user(owner)
+                .build());
+    }
+}
@@ -1,8 +1,20 @@
 package com.victor_devv.todo_list.service.impl;
 
+import com.victor_devv.todo_list.config.ReadReplicaRoutingDataSource;
+import com.victor_devv.todo_list.domain.dto.CursorPage;
+import com.victor_devv.todo_list.domain.dto.PageCursor;
+import com.victor_devv.todo_list.domain.dto.TodoBatchOperation;
+import com.victor_devv.todo_list.domain.dto.TodoBatchResult;
 import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.dto.TodoExportFormat;
+import com.victor_devv.todo_list.domain.dto.TodoFilter;
 import com.victor_devv.todo_list.domain.dto.TodoRequest;
+import com.victor_devv.todo_list.domain.dto.TodoSearchHit;
+import com.victor_devv.todo_list.domain.dto.TodoSort;
+import com.victor_devv.todo_list.domain.dto.TodoStatusTransitionRequest;
+import com.victor_devv.todo_list.domain.dto.TodoStatusTransitionResult;
 import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.TodoEvent;
 import com.victor_devv.todo_list.domain.entity.User;
 import com.victor_devv.todo_list.domain.mapper.TodoMapper;
 import com.victor_devv.todo_list.repository.TodoRepository;
@@ -11,9 +23,16 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +48,9 @@ class TodoServiceImplTest {
     @Mock
     private TodoMapper todoMapper;
 
+    @Mock
+    private TodoEventOutbox eventOutbox;
+
     @InjectMocks
     private TodoServiceImpl todoService;
 
@@ -61,31 +83,38 @@ class TodoServiceImplTest {
 
     @Test
     void findById_shouldReturnTodoDto_whenFound() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(mockTodo));
-        when(todoMapper.toDto(mockTodo)).thenReturn(mockTodoDto);
+        when(todoRepository.findDtoByIdAndUserId(1L, 1L)).thenReturn(Optional.of(mockTodoDto));
 
-        TodoDto result = todoService.findById(1L);
+        TodoDto result = todoService.findById(1L, 1L);
 
         assertThat(result).isEqualTo(mockTodoDto);
+        verifyNoInteractions(todoMapper);
     }
 
     @Test
     void findById_shouldThrowException_whenNotFound() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(todoRepository.findDtoByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> todoService.findById(1L, 1L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
 
-        assertThatThrownBy(() -> todoService.findById(1L))
+    @Test
+    void findById_shouldThrowException_whenOwnedByAnotherUser() {
+        when(todoRepository.findDtoByIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> todoService.findById(1L, 2L))
                 .isInstanceOf(EntityNotFoundException.class);
+        verify(todoRepository, never()).findById(anyLong());
     }
 
     @Test
     void findAllByUserId_shouldReturnPage_whenUserExists() {
-        Page<Todo> todoPage = new PageImpl<>(List.of(mockTodo));
         Page<TodoDto> dtoPage = new PageImpl<>(List.of(mockTodoDto));
         Pageable pageable = PageRequest.of(0, 10);
 
         when(userRepository.existsById(1L)).thenReturn(true);
-        when(todoRepository.findByUserId(1L, pageable)).thenReturn(todoPage);
-        when(todoMapper.toDto(mockTodo)).thenReturn(mockTodoDto);
+        when(todoRepository.findByUserId(1L, pageable)).thenReturn(dtoPage);
 
         Page<TodoDto> result = todoService.findAllByUserId(1L, pageable);
 
@@ -101,6 +130,138 @@ class TodoServiceImplTest {
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
+    @Test
+    void findAllByUserId_shouldUseStatusQuery_whenOnlyStatusIsFiltered() {
+        Pageable pageable = PageRequest.of(0, 10);
+        TodoFilter filter = TodoFilter.builder().status("PENDING").build();
+        when(todoRepository.findByUserIdAndStatus(1L, Todo.Status.PENDING, pageable))
+                .thenReturn(new PageImpl<>(List.of(mockTodoDto)));
+
+        Page<TodoDto> result = todoService.findAllByUserId(1L, filter, pageable);
+
+        assertThat(result.getContent()).containsExactly(mockTodoDto);
+        verify(todoRepository, never()).findAllDtos(any(), any());
+    }
+
+    @Test
+    void findAllByUserId_shouldUseSpecification_whenFilteringOnMoreThanStatus() {
+        Pageable pageable = PageRequest.of(0, 10);
+        TodoFilter filter = TodoFilter.builder()
+                .status("PENDING")
+                .priority("HIGH")
+                .dueTo(LocalDateTime.of(2025, 1, 31, 0, 0))
+                .build();
+        when(todoRepository.findAllDtos(any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(mockTodoDto)));
+
+        Page<TodoDto> result = todoService.findAllByUserId(1L, filter, pageable);
+
+        assertThat(result.getContent()).containsExactly(mockTodoDto);
+        verify(todoRepository, never()).findByUserIdAndStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    void findAllByUserId_shouldRejectUnknownPriority() {
+        TodoFilter filter = TodoFilter.builder().priority("SOMEDAY").build();
+
+        assertThatThrownBy(() -> todoService.findAllByUserId(1L, filter, PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void scrollByUserId_shouldFetchOneExtraRowAndReturnCursorForNextPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 0);
+        mockTodoDto.setCreatedAt(createdAt);
+        TodoDto extra = TodoDto.builder().id(2L).build();
+
+        when(todoRepository.findPageByUserId(1L, TodoSort.CREATED_AT, Sort.Direction.DESC, null, 2))
+                .thenReturn(List.of(mockTodoDto, extra));
+
+        CursorPage<TodoDto> result = todoService.scrollByUserId(1L, TodoSort.CREATED_AT, Sort.Direction.DESC, null, 1);
+
+        assertThat(result.getItems()).containsExactly(mockTodoDto);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(PageCursor.decode(result.getNextCursor()))
+                .isEqualTo(new PageCursor("created_at", Sort.Direction.DESC, createdAt.toString(), 1L));
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void scrollByUserId_shouldSeekPastCursorAndStopOnLastPage() {
+        PageCursor cursor = new PageCursor("due_date", Sort.Direction.ASC, null, 7L);
+        when(todoRepository.findPageByUserId(1L, TodoSort.DUE_DATE, Sort.Direction.ASC, cursor, 11))
+                .thenReturn(List.of(mockTodoDto));
+
+        CursorPage<TodoDto> result = todoService.scrollByUserId(
+                1L, TodoSort.DUE_DATE, Sort.Direction.ASC, cursor.encode(), 10);
+
+        assertThat(result.getItems()).containsExactly(mockTodoDto);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void scrollByUserId_shouldRejectCursorIssuedForAnotherOrder() {
+        String cursor = new PageCursor("created_at", Sort.Direction.DESC, "2025-01-01T09:00", 1L).encode();
+
+        assertThatThrownBy(() -> todoService.scrollByUserId(1L, TodoSort.PRIORITY, Sort.Direction.DESC, cursor, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void search_shouldPassLowercaseWordsAndReturnRankCursor() {
+        TodoDto extra = TodoDto.builder().id(2L).build();
+        when(todoRepository.search(1L, List.of("buy", "groceries"), null, 2))
+                .thenReturn(List.of(new TodoSearchHit(mockTodoDto, 0.6f), new TodoSearchHit(extra, 0.3f)));
+
+        CursorPage<TodoDto> result = todoService.search(1L, "  Buy, GROCERIES! buy ", null, 1);
+
+        assertThat(result.getItems()).containsExactly(mockTodoDto);
+        assertThat(PageCursor.decode(result.getNextCursor()))
+                .isEqualTo(new PageCursor("rank", Sort.Direction.DESC, "0.6", 1L));
+    }
+
+    @Test
+    void search_shouldRejectQueryWithoutWords() {
+        assertThatThrownBy(() -> todoService.search(1L, " ?! ", null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void findChanges_shouldReadHorizonAndChangesOnThePrimary() {
+        List<Boolean> onPrimary = new ArrayList<>();
+        when(todoRepository.findChangeHorizon()).thenAnswer(invocation -> {
+            onPrimary.add(ReadReplicaRoutingDataSource.isOnPrimary());
+            return 100L;
+        });
+        when(todoRepository.findChanges(eq(1L), anyLong(), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            onPrimary.add(ReadReplicaRoutingDataSource.isOnPrimary());
+            return List.of();
+        });
+
+        todoService.findChanges(1L, null, 10);
+
+        assertThat(onPrimary).containsExactly(true, true);
+        assertThat(ReadReplicaRoutingDataSource.isOnPrimary()).isFalse();
+    }
+
+    @Test
+    void export_shouldWriteEveryStreamedTodoAndCloseTheStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(todoRepository.streamByUserId(1L))
+                .thenReturn(Stream.of(mockTodoDto).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        todoService.export(1L, TodoExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).hasSize(2);
+        assertThat(closed).isTrue();
+        verifyNoInteractions(todoMapper, userRepository);
+    }
+
     @Test
     void create_shouldReturnTodoDto_whenSuccessful() {
         when(userRepository.findByEmail("john@victordevv.com")).thenReturn(Optional.of(mockUser));
@@ -111,6 +272,7 @@ class TodoServiceImplTest {
         TodoDto result = todoService.create("john@victordevv.com", mockRequest);
 
         assertThat(result).isEqualTo(mockTodoDto);
+        verify(eventOutbox).append(TodoEvent.Type.CREATED, mockTodoDto);
     }
 
     @Test
@@ -123,64 +285,162 @@ class TodoServiceImplTest {
 
     @Test
     void update_shouldReturnUpdatedTodoDto() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(mockTodo));
+        when(todoRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(mockTodo));
         doAnswer(invocation -> {
             TodoRequest req = invocation.getArgument(0);
             Todo entity = invocation.getArgument(1);
             entity.setTitle(req.getTitle());
             return null;
         }).when(todoMapper).updateEntityFromRequest(mockRequest, mockTodo);
-        when(todoRepository.save(mockTodo)).thenReturn(mockTodo);
+        when(todoRepository.saveAndFlush(mockTodo)).thenReturn(mockTodo);
         when(todoMapper.toDto(mockTodo)).thenReturn(mockTodoDto);
 
-        TodoDto result = todoService.update(1L, mockRequest);
+        TodoDto result = todoService.update(1L, 1L, null, mockRequest);
 
         assertThat(result).isEqualTo(mockTodoDto);
     }
 
+    @Test
+    void update_shouldRejectStaleVersion() {
+        mockTodo.setVersion(3);
+        when(todoRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(mockTodo));
+
+        assertThatThrownBy(() -> todoService.update(1L, 1L, 2, mockRequest))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(todoMapper, never()).updateEntityFromRequest(any(), any());
+        verify(todoRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     void update_shouldThrowException_whenTodoNotFound() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(todoRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> todoService.update(1L, mockRequest))
+        assertThatThrownBy(() -> todoService.update(1L, 1L, null, mockRequest))
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
     @Test
     void delete_shouldDeleteTodo_whenExists() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(mockTodo));
+        when(todoRepository.deleteOwned(1L, 1L, null)).thenReturn(true);
+
+        todoService.delete(1L, 1L, null);
+
+        verify(todoRepository).deleteOwned(1L, 1L, null);
+    }
+
+    @Test
+    void delete_shouldRejectStaleVersion() {
+        when(todoRepository.deleteOwned(1L, 1L, 2)).thenReturn(false);
+        when(todoRepository.findVersionByIdAndUserId(1L, 1L)).thenReturn(Optional.of(3));
+
+        assertThatThrownBy(() -> todoService.delete(1L, 1L, 2))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
 
-        todoService.delete(1L);
+    @Test
+    void delete_shouldThrowNotFound_whenVersionedTodoMissing() {
+        when(todoRepository.deleteOwned(1L, 1L, 2)).thenReturn(false);
+        when(todoRepository.findVersionByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
-        verify(todoRepository).delete(mockTodo);
+        assertThatThrownBy(() -> todoService.delete(1L, 1L, 2))
+                .isInstanceOf(EntityNotFoundException.class);
     }
 
     @Test
     void delete_shouldThrowException_whenTodoNotFound() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(todoRepository.deleteOwned(1L, 1L, null)).thenReturn(false);
 
-        assertThatThrownBy(() -> todoService.delete(1L))
+        assertThatThrownBy(() -> todoService.delete(1L, 1L, null))
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
     @Test
     void markAsCompleted_shouldUpdateStatusAndReturnDto() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(mockTodo));
-        when(todoRepository.save(mockTodo)).thenReturn(mockTodo);
+        mockTodo.setStatus(Todo.Status.COMPLETED);
+        when(todoRepository.transitionStatus(eq(1L), eq(1L), isNull(), eq(Todo.Status.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(mockTodo));
         when(todoMapper.toDto(mockTodo)).thenReturn(mockTodoDto);
 
-        TodoDto result = todoService.markAsCompleted(1L);
+        TodoDto result = todoService.markAsCompleted(1L, 1L, null);
 
-        assertThat(mockTodo.getStatus()).isEqualTo(Todo.Status.COMPLETED);
-        assertThat(mockTodo.getCompletedAt()).isNotNull();
         assertThat(result).isEqualTo(mockTodoDto);
+        verify(todoRepository, never()).save(any());
     }
 
     @Test
     void markAsCompleted_shouldThrowException_whenTodoNotFound() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(todoRepository.transitionStatus(eq(1L), eq(1L), isNull(), eq(Todo.Status.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> todoService.markAsCompleted(1L))
+        assertThatThrownBy(() -> todoService.markAsCompleted(1L, 1L, null))
                 .isInstanceOf(EntityNotFoundException.class);
     }
+
+    @Test
+    void transitionStatus_shouldReturnUpdatedCount() {
+        TodoFilter filter = TodoFilter.builder().ids(List.of(1L, 2L, 3L)).build();
+        TodoStatusTransitionRequest request = new TodoStatusTransitionRequest("CANCELLED", filter);
+        when(todoRepository.transitionStatusMatching(eq(1L), eq(filter), eq(Todo.Status.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(3);
+
+        TodoStatusTransitionResult result = todoService.transitionStatus(1L, request);
+
+        assertThat(result.getStatus()).isEqualTo("CANCELLED");
+        assertThat(result.getUpdated()).isEqualTo(3);
+    }
+
+    @Test
+    void transitionStatus_shouldThrowException_whenStatusIsNotTerminal() {
+        TodoStatusTransitionRequest request = new TodoStatusTransitionRequest("IN_PROGRESS", null);
+
+        assertThatThrownBy(() -> todoService.transitionStatus(1L, request))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(todoRepository, never()).transitionStatusMatching(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void batch_shouldApplyOperationsAndReportFailuresPerItem() {
+        Todo created = new Todo();
+        created.setId(51L);
+        TodoDto createdDto = new TodoDto();
+        createdDto.setId(51L);
+        List<TodoBatchOperation> operations = List.of(
+                TodoBatchOperation.builder().op("CREATE").todo(mockRequest).build(),
+                TodoBatchOperation.builder().op("COMPLETE").id(1L).build(),
+                TodoBatchOperation.builder().op("DELETE").id(2L).build(),
+                TodoBatchOperation.builder().op("ARCHIVE").id(1L).build()
+        );
+        when(todoRepository.findAllByIdInAndUserId(List.of(1L, 2L), 1L)).thenReturn(List.of(mockTodo));
+        when(userRepository.getReferenceById(1L)).thenReturn(mockUser);
+        when(todoMapper.toEntity(mockRequest)).thenReturn(created);
+        when(todoRepository.save(created)).thenReturn(created);
+        when(todoMapper.toDto(created)).thenReturn(createdDto);
+        when(todoMapper.toDto(mockTodo)).thenReturn(mockTodoDto);
+
+        List<TodoBatchResult> results = todoService.batch(1L, operations);
+
+        assertThat(results).extracting(TodoBatchResult::getStatus)
+                .containsExactly("success", "success", "fail", "fail");
+        assertThat(results.get(0).getTodo()).isEqualTo(createdDto);
+        assertThat(results.get(1).getTodo()).isEqualTo(mockTodoDto);
+        assertThat(mockTodo.getStatus()).isEqualTo(Todo.Status.COMPLETED);
+        assertThat(created.getUser()).isEqualTo(mockUser);
+        verify(todoRepository, never()).delete(any(Todo.class));
+        verify(todoRepository).flush();
+    }
+
+    @Test
+    void batch_shouldRejectInvalidEnumBeforeTouchingEntity() {
+        TodoRequest invalid = TodoRequest.builder().title("Changed").priority("SOMEDAY").build();
+        List<TodoBatchOperation> operations = List.of(
+                TodoBatchOperation.builder().op("UPDATE").id(1L).todo(invalid).build()
+        );
+        when(todoRepository.findAllByIdInAndUserId(List.of(1L), 1L)).thenReturn(List.of(mockTodo));
+
+        List<TodoBatchResult> results = todoService.batch(1L, operations);
+
+        assertThat(results.get(0).getStatus()).isEqualTo("fail");
+        assertThat(mockTodo.getTitle()).isEqualTo("Test");
+        verify(todoMapper, never()).updateEntityFromRequest(any(), any());
+    }
 }
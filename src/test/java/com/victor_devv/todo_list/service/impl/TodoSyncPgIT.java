@@ -0,0 +1,65 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.domain.dto.TodoChanges;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.support.PostgresIT;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The incremental syncs that only PostgreSQL can answer. Each test commits its data and
+ * {@link TodoSyncTest#tearDown()} deletes it again, so tests don't see each other's changes.
+ */
+@PostgresIT
+class TodoSyncPgIT extends TodoSyncTest {
+
+    @Test
+    void findChanges_afterFullSync_shouldReturnOnlyWhatChanged() {
+        String watermark = syncFully(null).getNextToken();
+
+        Todo updated = todos.get(1);
+        updated.setTitle("Renamed");
+        todoRepository.save(updated);
+        todoRepository.deleteById(todos.get(3).getId());
+        Todo created = saveTodo(owner, "Brand new");
+
+        TodoChanges changes = syncFully(watermark);
+
+        assertThat(changes.isReset()).isFalse();
+        assertThat(upsertIds(changes)).containsExactly(updated.getId(), created.getId());
+        assertThat(changes.getUpserts()).extracting(TodoDto::getTitle).containsExactly("Renamed", "Brand new");
+        assertThat(changes.getDeletedIds()).containsExactly(todos.get(3).getId());
+    }
+
+    @Test
+    void findChanges_whenNothingChanged_shouldReturnNothing() {
+        String watermark = syncFully(null).getNextToken();
+
+        TodoChanges changes = todoService.findChanges(owner.getId(), watermark, 10);
+
+        assertThat(changes.getUpserts()).isEmpty();
+        assertThat(changes.getDeletedIds()).isEmpty();
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(changes.isReset()).isFalse();
+    }
+
+    @Test
+    void findChanges_shouldPageIncrementalChangesWithoutLosingAny() {
+        String watermark = syncFully(null).getNextToken();
+        for (Todo todo : todos) {
+            todo.setTitle(todo.getTitle() + " (edited)");
+            todoRepository.save(todo);
+        }
+
+        TodoChanges first = todoService.findChanges(owner.getId(), watermark, 2);
+        TodoChanges second = todoService.findChanges(owner.getId(), first.getNextToken(), 2);
+        TodoChanges third = todoService.findChanges(owner.getId(), second.getNextToken(), 2);
+
+        assertThat(List.of(first.isHasMore(), second.isHasMore(), third.isHasMore())).containsExactly(true, true, false);
+        assertThat(upsertIds(first, second, third)).containsExactlyElementsOf(ids(todos));
+    }
+}
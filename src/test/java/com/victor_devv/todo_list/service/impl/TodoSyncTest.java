@@ -0,0 +1,125 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.domain.dto.SyncToken;
+import com.victor_devv.todo_list.domain.dto.TodoChanges;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import com.victor_devv.todo_list.domain.entity.Todo;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.repository.TodoRepository;
+import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.service.TodoService;
+import com.victor_devv.todo_list.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against H2, where changes are not tracked and every sync is a full one;
+ * {@link TodoSyncPgIT} adds the incremental syncs on PostgreSQL. Data is committed, since
+ * a change only enters the feed once its transaction has finished, and removed afterwards.
+ */
+@SpringBootTest
+class TodoSyncTest {
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    User owner;
+    List<Todo> todos;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = TestUsers.save(userRepository, "syncing");
+        other = TestUsers.save(userRepository, "someone-else");
+        todos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            todos.add(saveTodo(owner, "Todo " + i));
+        }
+        saveTodo(other, "Not yours");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(other.getId());
+    }
+
+    @Test
+    void findChanges_withoutToken_shouldPageThroughAllTodosAsAReset() {
+        TodoChanges first = todoService.findChanges(owner.getId(), null, 3);
+        TodoChanges second = todoService.findChanges(owner.getId(), first.getNextToken(), 3);
+
+        assertThat(first.isReset()).isTrue();
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.isReset()).isFalse();
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(upsertIds(first, second)).containsExactlyInAnyOrderElementsOf(ids(todos));
+        assertThat(first.getDeletedIds()).isEmpty();
+    }
+
+    @Test
+    void findChanges_withExpiredToken_shouldStartOver() {
+        String expired = new SyncToken(1L, 0L, null, LocalDateTime.now().minusDays(31)).encode();
+
+        TodoChanges changes = todoService.findChanges(owner.getId(), expired, 10);
+
+        assertThat(changes.isReset()).isTrue();
+        assertThat(upsertIds(changes)).containsExactlyInAnyOrderElementsOf(ids(todos));
+    }
+
+    @Test
+    void findChanges_withGarbledToken_shouldBeRejected() {
+        assertThatThrownBy(() -> todoService.findChanges(owner.getId(), "not-a-token", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid sync token");
+    }
+
+    /**
+     * Follows every continuation of a sync and returns the last page, whose token is the
+     * watermark for the next sync.
+     */
+    TodoChanges syncFully(String since) {
+        TodoChanges changes = todoService.findChanges(owner.getId(), since, 2);
+        while (changes.isHasMore()) {
+            changes = todoService.findChanges(owner.getId(), changes.getNextToken(), 2);
+        }
+        return changes;
+    }
+
+    static List<Long> upsertIds(TodoChanges... pages) {
+        List<Long> ids = new ArrayList<>();
+        for (TodoChanges page : pages) {
+            page.getUpserts().stream().map(TodoDto::getId).forEach(ids::add);
+        }
+        return ids;
+    }
+
+    static List<Long> ids(List<Todo> todos) {
+        return todos.stream().map(Todo::getId).toList();
+    }
+
+    Todo saveTodo(User user, String title) {
+        return todoRepository.save(Todo.builder()
+                .title(title)
+                .priority(Todo.Priority.MEDIUM)
+                .status(Todo.Status.PENDING)
+                .user(user)
+                .build());
+    }
+}
@@ -0,0 +1,137 @@
+package com.victor_devv.todo_list.service.impl;
+
+import com.victor_devv.todo_list.config.jwt.AccessTokenRevocations;
+import com.victor_devv.todo_list.config.jwt.JwtService;
+import com.victor_devv.todo_list.domain.dto.LoginResponse;
+import com.victor_devv.todo_list.domain.entity.RefreshToken;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.repository.RefreshTokenRepository;
+import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.service.TokenService;
+import com.victor_devv.todo_list.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Data is committed, since a failed refresh must still leave a reused token's family
+ * revoked, and removed afterwards.
+ */
+@SpringBootTest
+class TokenServiceTest {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private AccessTokenRevocations revocations;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenPurger refreshTokenPurger;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = TestUsers.save(userRepository, "refreshing");
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll(refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUserId().equals(user.getId()))
+                .toList());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void refresh_shouldRotateTheRefreshToken() {
+        LoginResponse login = tokenService.issue(user);
+
+        LoginResponse refreshed = tokenService.refresh(login.getRefreshToken());
+
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+        assertThat(refreshed.getToken()).isNotEqualTo(login.getToken());
+        assertThat(jwtService.extractUserId(refreshed.getToken())).isEqualTo(user.getId());
+        assertThat(revocations.isRevoked(jti(refreshed))).isFalse();
+    }
+
+    @Test
+    void refresh_withReusedToken_shouldRevokeTheWholeFamily() {
+        LoginResponse login = tokenService.issue(user);
+        LoginResponse refreshed = tokenService.refresh(login.getRefreshToken());
+
+        assertThatThrownBy(() -> tokenService.refresh(login.getRefreshToken()))
+                .isInstanceOf(BadCredentialsException.class);
+
+        assertThatThrownBy(() -> tokenService.refresh(refreshed.getRefreshToken()))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(revocations.isRevoked(jti(login))).isTrue();
+        assertThat(revocations.isRevoked(jti(refreshed))).isTrue();
+    }
+
+    @Test
+    void revoke_shouldRevokeTheAccessTokens() {
+        LoginResponse login = tokenService.issue(user);
+        LoginResponse other = tokenService.issue(user);
+
+        tokenService.revoke(login.getRefreshToken());
+
+        assertThat(revocations.isRevoked(jti(login))).isTrue();
+        assertThat(revocations.isRevoked(jti(other))).isFalse();
+        assertThatThrownBy(() -> tokenService.refresh(login.getRefreshToken()))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void purge_shouldOnlyDropTokensWhoseAccessTokenExpiredToo() {
+        tokenService.issue(user);
+        tokenService.issue(user);
+        tokenService.issue(user);
+        List<RefreshToken> tokens = refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUserId().equals(user.getId()))
+                .toList();
+        LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+        RefreshToken expired = tokens.get(0);
+        expired.setExpiresAt(past);
+        expired.setAccessExpiresAt(past);
+        RefreshToken accessStillValid = tokens.get(1);
+        accessStillValid.setExpiresAt(past);
+        refreshTokenRepository.saveAll(List.of(expired, accessStillValid));
+
+        refreshTokenPurger.purge();
+
+        assertThat(refreshTokenRepository.findById(expired.getId())).isEmpty();
+        assertThat(refreshTokenRepository.findById(accessStillValid.getId())).isPresent();
+        assertThat(refreshTokenRepository.findById(tokens.get(2).getId())).isPresent();
+    }
+
+    @Test
+    void refresh_withUnknownToken_shouldBeRejected() {
+        assertThatThrownBy(() -> tokenService.refresh("not-a-token"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("invalid refresh token");
+    }
+
+    private String jti(LoginResponse response) {
+        return jwtService.extractAllClaims(response.getToken()).getId();
+    }
+}
@@ -1,23 +1,27 @@
 package com.victor_devv.todo_list.service.impl;
 
-import com.victor_devv.todo_list.config.jwt.JwtService;
 import com.victor_devv.todo_list.domain.dto.*;
 import com.victor_devv.todo_list.domain.entity.Role;
 import com.victor_devv.todo_list.domain.entity.User;
 import com.victor_devv.todo_list.domain.mapper.UserMapper;
 import com.victor_devv.todo_list.repository.UserRepository;
+import com.victor_devv.todo_list.service.TokenService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import jakarta.persistence.EntityNotFoundException;
 
+import java.sql.SQLException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,7 +33,7 @@ class UserServiceImplTest {
     @Mock private UserRepository userRepository;
     @Mock private UserMapper userMapper;
     @Mock private PasswordEncoder passwordEncoder;
-    @Mock private JwtService jwtService;
+    @Mock private TokenService tokenService;
     @Mock private AuthenticationManager authenticationManager;
 
     @InjectMocks
@@ -99,32 +103,82 @@ class UserServiceImplTest {
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    void testScroll_returnsUsersAfterCursor() {
+        User next = User.builder().id(2L).build();
+        String cursor = new PageCursor("id", Sort.Direction.ASC, null, 0L).encode();
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(user, next));
+        when(userMapper.toDto(any(User.class))).thenReturn(userDto);
+
+        CursorPage<UserDto> result = userService.scroll(cursor, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.isHasNext());
+        assertEquals(1L, PageCursor.decode(result.getNextCursor()).id());
+    }
+
+    @Test
+    void testScroll_invalidCursor_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> userService.scroll("not-a-cursor", 10));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void testCreate_success() {
-        when(userRepository.existsByUsername("johndoe")).thenReturn(false);
-        when(userRepository.existsByEmail("john@victordevv.com")).thenReturn(false);
         when(passwordEncoder.encode("password123")).thenReturn("hashedpass");
-        when(userRepository.save(any(User.class))).thenReturn(user);
-        when(userMapper.toDto(user)).thenReturn(userDto);
-        when(jwtService.generateToken(anyMap(), any(User.class))).thenReturn("jwt-token");
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+        when(tokenService.issue(user)).thenReturn(loginResponse());
 
         LoginResponse response = userService.create(userRequest);
 
         assertEquals("johndoe", response.getUser().getUsername());
         assertEquals("jwt-token", response.getToken());
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
     }
 
     @Test
-    void testCreate_duplicateUsername_throwsException() {
+    void testCreate_existingUsername_throwsWithoutHashing() {
+        when(userRepository.existsByUsernameOrEmail("johndoe", "john@victordevv.com")).thenReturn(true);
         when(userRepository.existsByUsername("johndoe")).thenReturn(true);
-        assertThrows(IllegalArgumentException.class, () -> userService.create(userRequest));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userService.create(userRequest));
+        assertEquals("username already exists: johndoe", ex.getMessage());
+        verifyNoInteractions(passwordEncoder);
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testCreate_existingEmail_throwsWithoutHashing() {
+        when(userRepository.existsByUsernameOrEmail("johndoe", "john@victordevv.com")).thenReturn(true);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userService.create(userRequest));
+        assertEquals("email address already exists: john@victordevv.com", ex.getMessage());
+        verifyNoInteractions(passwordEncoder);
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testCreate_duplicateUsername_throwsException() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("uk_users_username"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userService.create(userRequest));
+        assertEquals("username already exists: johndoe", ex.getMessage());
     }
 
     @Test
     void testCreate_duplicateEmail_throwsException() {
-        when(userRepository.existsByUsername("johndoe")).thenReturn(false);
-        when(userRepository.existsByEmail("john@victordevv.com")).thenReturn(true);
-        assertThrows(IllegalArgumentException.class, () -> userService.create(userRequest));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("uk_users_email"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userService.create(userRequest));
+        assertEquals("email address already exists: john@victordevv.com", ex.getMessage());
+    }
+
+    @Test
+    void testCreate_otherViolation_isRethrown() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("users_pkey"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.create(userRequest));
     }
 
     @Test
@@ -141,20 +195,37 @@ class UserServiceImplTest {
 
     @Test
     void testAuthenticate_success() {
-        when(userRepository.findByEmail("john@victordevv.com")).thenReturn(Optional.of(user));
-        when(userMapper.toDto(user)).thenReturn(userDto);
-        when(jwtService.generateToken(anyMap(), eq(user))).thenReturn("jwt-token");
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        when(tokenService.issue(user)).thenReturn(loginResponse());
 
         LoginResponse response = userService.authenticate(loginRequest);
 
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         assertEquals("jwt-token", response.getToken());
+        verify(userRepository, never()).findByEmail(any());
     }
 
     @Test
-    void testAuthenticate_userNotFound_throwsException() {
-        when(userRepository.findByEmail("john@victordevv.com")).thenReturn(Optional.empty());
-        verify(authenticationManager, never()).authenticate(any());
-        assertThrows(NoSuchElementException.class, () -> userService.authenticate(loginRequest));
+    void testAuthenticate_badCredentials_throwsException() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> userService.authenticate(loginRequest));
+        verifyNoInteractions(tokenService);
+    }
+
+    private LoginResponse loginResponse() {
+        return LoginResponse.builder()
+                .user(userDto)
+                .token("jwt-token")
+                .refreshToken("refresh-token")
+                .build();
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value violates unique constraint",
+                        new SQLException("duplicate key value violates unique constraint \"" + constraint + "\""),
+                        constraint));
     }
 }
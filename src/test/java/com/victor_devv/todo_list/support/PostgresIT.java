@@ -0,0 +1,27 @@
+package com.victor_devv.todo_list.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@link SpringBootTest} against PostgreSQL in a container, with the schema from
+ * the Flyway migrations rather than generated from the entities. Skipped where Docker
+ * is not available. Classes are named {@code *PgIT} and run by failsafe in {@code mvn verify}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:database/migrations",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Import(PostgresContainerConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+public @interface PostgresIT {
+}
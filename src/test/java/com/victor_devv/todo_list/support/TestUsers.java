@@ -0,0 +1,27 @@
+package com.victor_devv.todo_list.support;
+
+import com.victor_devv.todo_list.domain.entity.Role;
+import com.victor_devv.todo_list.domain.entity.User;
+import com.victor_devv.todo_list.repository.UserRepository;
+
+/**
+ * Saves the users that tests own their todos and tokens through.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    /**
+     * Saves a user called {@code username}, with an email derived from it so that
+     * users of different tests sharing a database don't collide.
+     */
+    public static User save(UserRepository userRepository, String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@victordevv.com")
+                .password("hashedpass")
+                .role(Role.USER)
+                .build());
+    }
+}
@@ -0,0 +1,40 @@
+package com.victor_devv.todo_list.util;
+
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void expectedVersion_shouldParseMatchingTag() {
+        assertThat(ETags.expectedVersion("\"7-3\"", 7L)).isEqualTo(3);
+        assertThat(ETags.expectedVersion("\"8-1\", \"7-4\"", 7L)).isEqualTo(4);
+    }
+
+    @Test
+    void expectedVersion_shouldIgnoreAbsentOrWildcardHeader() {
+        assertThat(ETags.expectedVersion(null, 7L)).isNull();
+        assertThat(ETags.expectedVersion("*", 7L)).isNull();
+    }
+
+    @Test
+    void expectedVersion_shouldNeverMatchWeakOrForeignTags() {
+        assertThat(ETags.expectedVersion("W/\"7-3\"", 7L)).isNegative();
+        assertThat(ETags.expectedVersion("\"8-3\"", 7L)).isNegative();
+        assertThat(ETags.expectedVersion("\"7-x\"", 7L)).isNegative();
+    }
+
+    @Test
+    void weak_shouldChangeWithVersionsAndDiscriminator() {
+        TodoDto todo = TodoDto.builder().id(1L).version(0).build();
+        String tag = ETags.weak(List.of(todo), 1L);
+
+        assertThat(tag).startsWith("W/\"").isEqualTo(ETags.weak(List.of(todo), 1L));
+        assertThat(ETags.weak(List.of(todo), 2L)).isNotEqualTo(tag);
+        assertThat(ETags.weak(List.of(TodoDto.builder().id(1L).version(1).build()), 1L)).isNotEqualTo(tag);
+    }
+}
@@ -0,0 +1,64 @@
+package com.victor_devv.todo_list.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.victor_devv.todo_list.domain.dto.TodoDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TodoExportsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void writeNdjson_shouldWriteOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TodoExports.writeNdjson(Stream.of(todo(1L, "First"), todo(2L, "Second")), objectMapper, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[0], TodoDto.class)).isEqualTo(todo(1L, "First"));
+        assertThat(objectMapper.readValue(lines[1], TodoDto.class)).isEqualTo(todo(2L, "Second"));
+        assertThat(lines[2]).isEmpty();
+    }
+
+    @Test
+    void writeCsv_shouldWriteHeaderAndQuoteSpecialCharacters() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TodoDto todo = todo(1L, "Buy \"milk\", eggs");
+        todo.setDescription("line one\nline two");
+
+        TodoExports.writeCsv(Stream.of(todo), out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,version,title,description,priority,status,dueDate,completedAt,createdAt,updatedAt\r\n"
+                        + "1,0,\"Buy \"\"milk\"\", eggs\",\"line one\nline two\",HIGH,PENDING,"
+                        + "2025-01-31 09:30:00,,2025-01-01 08:00:00,\r\n");
+    }
+
+    @Test
+    void csvField_shouldLeavePlainValuesUnquoted() {
+        assertThat(TodoExports.csvField("plain text")).isEqualTo("plain text");
+        assertThat(TodoExports.csvField((String) null)).isEmpty();
+    }
+
+    private static TodoDto todo(Long id, String title) {
+        return TodoDto.builder()
+                .id(id)
+                .version(0)
+                .title(title)
+                .priority("HIGH")
+                .status("PENDING")
+                .dueDate(LocalDateTime.of(2025, 1, 31, 9, 30))
+                .createdAt(LocalDateTime.of(2025, 1, 1, 8, 0))
+                .build();
+    }
+}